@@ -0,0 +1,226 @@
+package com.unipi.alexandris.game.echotrials.base;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.unipi.alexandris.game.echotrials.base.core.LevelID;
+import com.unipi.alexandris.game.echotrials.base.sensors.InputScript;
+
+/**
+ * The BatchRunner class plays many headless runs at once on a bounded pool of threads.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Running jobs of a level, an input script and a seed, one session per job</li>
+ *   <li>Collecting the result of every job in the order the jobs were given</li>
+ *   <li>Summing up completions, deaths, ticks and wall time over the batch</li>
+ * </ul>
+ * Sessions share no mutable state, so the runs scale with the number of cores.
+ * Usage: {@code BatchRunner <batch file>}, where every line of the file is "LEVEL_ID script seed [ticks]",
+ * with script paths relative to the batch file. The pool size is set with the "echotrials.batch.threads"
+ * system property and defaults to the number of cores. The exit status is 2 if any run did not complete its level.
+ */
+public class BatchRunner {
+
+	/**
+	 * Record of one job of a batch.
+	 *
+	 * @param name Name of the job in reports, such as the script file
+	 * @param level The level to play
+	 * @param script The buttons of every tick
+	 * @param seed The seed the level is built with
+	 * @param maxTicks The tick limit
+	 */
+	public record Job(String name, LevelID level, InputScript script, long seed, long maxTicks) {}
+
+	/**
+	 * Record of the results of a batch.
+	 *
+	 * @param results The result of every job, in the order of the jobs
+	 * @param nanos Wall time of the whole batch in nanoseconds
+	 * @param threads Number of threads the batch ran on
+	 */
+	public record Summary(List<HeadlessRunner.Result> results, long nanos, int threads) {
+
+		/**
+		 * Counts the runs that completed their level.
+		 *
+		 * @return The number of completed runs
+		 */
+		public int completed() {
+			int completed = 0;
+			for(HeadlessRunner.Result result : results) if(result.outcome() == HeadlessRunner.Outcome.COMPLETED) completed++;
+			return completed;
+		}
+
+		/**
+		 * Sums the deaths of every run.
+		 *
+		 * @return The total number of deaths
+		 */
+		public int deaths() {
+			int deaths = 0;
+			for(HeadlessRunner.Result result : results) deaths += result.deaths();
+			return deaths;
+		}
+
+		/**
+		 * Sums the ticks of every run.
+		 *
+		 * @return The total number of ticks
+		 */
+		public long ticks() {
+			long ticks = 0;
+			for(HeadlessRunner.Result result : results) ticks += result.ticks();
+			return ticks;
+		}
+
+		/**
+		 * Gets how many times faster the batch ran than its runs would have one after another.
+		 *
+		 * @return The summed wall time of the runs over the wall time of the batch
+		 */
+		public double speedup() {
+			long runNanos = 0;
+			for(HeadlessRunner.Result result : results) runNanos += result.nanos();
+			return nanos > 0 ? (double) runNanos / nanos : 0;
+		}
+	}
+
+	/**
+	 * Runs every job of a batch, at most one per thread at a time, and waits for all of them.
+	 * A job that throws is reported as {@link HeadlessRunner.Outcome#FAILED} and does not stop the others.
+	 * If the calling thread is interrupted, the batch stops, every job without a result is reported as failed,
+	 * and the interrupt is kept set; the summary always has one result per job.
+	 *
+	 * @param jobs The jobs to run
+	 * @param threads The number of threads of the pool
+	 * @return The results of the batch
+	 */
+	public static Summary run(List<Job> jobs, int threads) {
+		AtomicInteger workers = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "Batch-" + workers.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		long start = System.nanoTime();
+		List<HeadlessRunner.Result> results = new ArrayList<>(jobs.size());
+		try {
+			List<Future<HeadlessRunner.Result>> futures = new ArrayList<>(jobs.size());
+			for(Job job : jobs) {
+				futures.add(pool.submit(() -> HeadlessRunner.run(job.level(), job.script(), job.seed(), job.maxTicks())));
+			}
+			for(int i = 0; i < jobs.size(); i++) {
+				try {
+					results.add(futures.get(i).get());
+				}
+				catch(ExecutionException e) {
+					System.out.println("[SEVERE]: Batch job " + jobs.get(i).name() + " has failed: " + e.getCause());
+					results.add(failed(jobs.get(i)));
+				}
+			}
+		}
+		catch(InterruptedException e) {
+			System.out.println("[SEVERE]: The batch was interrupted after " + results.size() + " of " + jobs.size() + " jobs.");
+			Thread.currentThread().interrupt();
+			for(int i = results.size(); i < jobs.size(); i++) results.add(failed(jobs.get(i)));
+		}
+		finally {
+			pool.shutdownNow();
+		}
+		return new Summary(results, System.nanoTime() - start, threads);
+	}
+
+	/**
+	 * Creates the result of a job that did not run to its end.
+	 *
+	 * @param job The job
+	 * @return A {@link HeadlessRunner.Outcome#FAILED} result
+	 */
+	private static HeadlessRunner.Result failed(Job job) {
+		return new HeadlessRunner.Result(job.level(), HeadlessRunner.Outcome.FAILED, 0, 0, null, Double.NaN, Double.NaN, 0, 0, 0);
+	}
+
+	/**
+	 * Parses a batch file.
+	 *
+	 * @param path The batch file
+	 * @return The jobs of the batch
+	 * @throws IOException If the batch file or a script cannot be read
+	 * @throws IllegalArgumentException If a line is malformed
+	 */
+	public static List<Job> load(Path path) throws IOException {
+		List<String> lines = Files.readAllLines(path);
+		Path directory = path.toAbsolutePath().getParent();
+		List<Job> jobs = new ArrayList<>();
+		for(int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i);
+			int comment = line.indexOf('#');
+			if(comment >= 0) line = line.substring(0, comment);
+			line = line.strip();
+			if(line.isEmpty()) continue;
+
+			String[] parts = line.split("\\s+");
+			if(parts.length < 3 || parts.length > 4) throw new IllegalArgumentException("Line " + (i + 1) + ": expected \"LEVEL_ID script seed [ticks]\"");
+			LevelID level = LevelID.getByName(parts[0].toUpperCase());
+			if(level == null) throw new IllegalArgumentException("Line " + (i + 1) + ": unknown level \"" + parts[0] + "\"");
+			InputScript script;
+			try {
+				script = InputScript.load(directory.resolve(parts[1]));
+			}
+			catch(IllegalArgumentException e) {
+				throw new IllegalArgumentException(parts[1] + ": " + e.getMessage());
+			}
+			long seed = Long.parseLong(parts[2]);
+			long ticks = parts.length > 3 ? Long.parseLong(parts[3]) : script.length();
+			jobs.add(new Job(parts[1], level, script, seed, ticks));
+		}
+		return jobs;
+	}
+
+	/**
+	 * Runs a batch file from the command line and prints the result of every job and of the batch.
+	 *
+	 * @param args The batch file
+	 */
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		if(args.length != 1) {
+			System.out.println("Usage: BatchRunner <batch file>");
+			System.exit(1);
+		}
+
+		List<Job> jobs;
+		try {
+			jobs = load(Path.of(args[0]));
+		}
+		catch(Exception e) {
+			System.out.println("[SEVERE]: The batch could not be loaded: " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+		int threads = Math.max(1, Integer.getInteger("echotrials.batch.threads", Runtime.getRuntime().availableProcessors()));
+
+		Summary summary = run(jobs, threads);
+		for(int i = 0; i < jobs.size(); i++) {
+			HeadlessRunner.Result result = summary.results().get(i);
+			System.out.println(jobs.get(i).name() + " (" + result.level() + ", seed " + jobs.get(i).seed() + "): " + result.outcome()
+					+ " after " + result.ticks() + " ticks, " + result.deaths() + " deaths, "
+					+ String.format("%.1f", result.nanos() / 1.0E6) + " ms");
+		}
+		System.out.println(jobs.size() + " runs on " + summary.threads() + " threads in " + String.format("%.1f", summary.nanos() / 1.0E6)
+				+ " ms: " + summary.completed() + " completed, " + summary.deaths() + " deaths, " + summary.ticks() + " ticks ("
+				+ String.format("%.0f", summary.ticks() * 1.0E9 / Math.max(1, summary.nanos())) + " ticks/s, "
+				+ String.format("%.2f", summary.speedup()) + "x speedup)");
+		System.exit(summary.completed() == jobs.size() ? 0 : 2);
+	}
+}
@@ -2,29 +2,30 @@ package com.unipi.alexandris.game.echotrials.base;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
-import java.awt.geom.Area;
 import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.ObjectOutputStream;
+import java.io.IOException;
 import java.io.Serial;
-import java.text.DecimalFormat;
 import java.util.*;
 import java.util.List;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
 
-import com.unipi.alexandris.game.echotrials.base.core.GameLevel;
-import com.unipi.alexandris.game.echotrials.base.core.Camera;
+import com.unipi.alexandris.game.echotrials.base.core.DisplayList;
+import com.unipi.alexandris.game.echotrials.base.core.FramePacer;
 import com.unipi.alexandris.game.echotrials.base.core.ID;
 import com.unipi.alexandris.game.echotrials.base.core.LevelID;
+import com.unipi.alexandris.game.echotrials.base.core.TripleBuffer;
 import com.unipi.alexandris.game.echotrials.base.gui.*;
 import com.unipi.alexandris.game.echotrials.base.gui.Window;
 import com.unipi.alexandris.game.echotrials.base.handlers.Handler;
 import com.unipi.alexandris.game.echotrials.base.loaders.BufferedImageLoader;
-import com.unipi.alexandris.game.echotrials.base.loaders.LevelLoader;
+import com.unipi.alexandris.game.echotrials.base.physics.CollisionWorld;
+import com.unipi.alexandris.game.echotrials.base.physics.ParticleSystem;
 import com.unipi.alexandris.game.echotrials.base.core.UserFiles;
 import com.unipi.alexandris.game.echotrials.base.roomobjects.Player;
-import com.unipi.alexandris.game.echotrials.base.roomobjects.PortalBlock;
+import com.unipi.alexandris.game.echotrials.base.sensors.InputRecorder;
 import com.unipi.alexandris.game.echotrials.base.sensors.KeyInput;
 import com.unipi.alexandris.game.echotrials.base.sensors.MouseInput;
 import com.unipi.alexandris.game.echotrials.base.sensors.MouseMotionSensor;
@@ -36,6 +37,7 @@ import javax.swing.*;
  * The main Game class that manages the core game functionality.
  * This class extends Canvas and implements Runnable to handle the game loop and rendering.
  * It manages game states, resources, input handling, and level progression.
+ * The level itself is held by a {@link Session}, which the game ticks and draws.
  *
  * Features include:
  * <ul>
@@ -55,15 +57,9 @@ public class Game extends Canvas implements Runnable {
     @Serial
     private static final long serialVersionUID = 5839527675529025230L;
 
-    /** User data object containing progress, unlocked levels, and high scores. */
-    private final UserFiles user;
-
     /** Reference to the currently active game instance. */
     private static Game active;
 
-    /** List of levels that have been unlocked by the player. */
-    public static final ArrayList<String> unlockedLevels = new ArrayList<>();
-
     /** List of GUI button elements in the game. */
     private final ArrayList<GUIButton> guiElements = new ArrayList<>();
 
@@ -129,14 +125,54 @@ public class Game extends Canvas implements Runnable {
     /** Current Y coordinate of the mouse cursor. */
     public static int cursorY;
 
-    /** Collision area for solid blocks. */
-    public static Area block = new Area();
+    /**
+     * Collision engine used when a level is loaded.
+     * Set with the "echotrials.collisions" system property (AREA or TILE) to compare the engines.
+     */
+    public static CollisionWorld.Engine collisionEngine =
+            CollisionWorld.Engine.valueOf(System.getProperty("echotrials.collisions", "AREA").toUpperCase());
+
+    /**
+     * Seed the random look and particle behavior of every level is derived from, unless a session is given its own.
+     * Set with the "echotrials.seed" system property; the same seed always reproduces the same levels.
+     */
+    public static long seed = Long.getLong("echotrials.seed", 0L);
+
+    /** Number of simulation ticks per second. */
+    public static final int TICKS_PER_SECOND = 100;
+
+    /**
+     * Render cap in frames per second, or 0 for no cap. The simulation always runs at {@link #TICKS_PER_SECOND}.
+     * Set with the "echotrials.fps" system property: "monitor" (the default), "unlimited" or a number such as 60.
+     */
+    public static int renderCap = FramePacer.parseRate(System.getProperty("echotrials.fps", "monitor"));
+
+    /**
+     * Policies for ticks the game loop is too far behind to run.
+     * <ul>
+     *   <li>DROP: the ticks are skipped; the time still passed, so the speedrun timer counts it</li>
+     *   <li>DILATE: the ticks are skipped and the game time is stretched, so the speedrun timer does not count it</li>
+     * </ul>
+     */
+    public enum CatchUp {DROP, DILATE}
+
+    /**
+     * What the game loop does with the ticks it is behind beyond {@link #maxCatchUpTicks}.
+     * Set with the "echotrials.catchup" system property (DROP or DILATE).
+     */
+    public static CatchUp catchUpPolicy = CatchUp.valueOf(System.getProperty("echotrials.catchup", "DROP").toUpperCase());
+
+    /**
+     * Maximum number of ticks run back-to-back before a frame, so a stall never turns into a burst of catch-up physics.
+     * Set with the "echotrials.catchup.ticks" system property.
+     */
+    public static int maxCatchUpTicks = Math.max(1, Integer.getInteger("echotrials.catchup.ticks", 10));
 
-    /** Collision area for ice blocks. */
-    public static Area ice = new Area();
+    /** Total number of ticks skipped under the DROP policy. */
+    public static long droppedTicks = 0;
 
-    /** Collision area for water blocks. */
-    public static Area water = new Area();
+    /** Total number of ticks skipped under the DILATE policy. */
+    public static long dilatedTicks = 0;
 
     /** Game window width in pixels. */
     public static final int WIDTH = 1920;
@@ -150,77 +186,92 @@ public class Game extends Canvas implements Runnable {
     /** The game window wrapper. */
     public Window window;
 
-    /** List of hazard locations in the current level. */
-    public static ArrayList<Integer> hazardsMap = new ArrayList<>();
+    /** Size multiplier for game objects. */
+    public static final int multiplier = 48;
 
-    /** Initial player X coordinate. */
-    public static int i_p_x;
+    /** Flag indicating if the game is currently running. */
+    private volatile boolean running = false;
 
-    /** Initial player Y coordinate. */
-    public static int i_p_y;
+    /** The session played in the window: the current level and the progress of the user. */
+    private final transient Session session;
 
-    /** Number of bubble power-ups available. */
-    public static int bubble_counter = 10;
+    /** Flag for debug mode. */
+    public static final boolean DEBUG = false;
 
-    /** Player's current health points. */
-    public static int health_counter = 3;
+    /** Current frames per second. */
+    private long fps = 0L;
 
-    /** Flag indicating if bubble shield is active. */
-    public static boolean bubble_flag;
+    /** Paces the frames of the game loop. */
+    private transient FramePacer pacer = new FramePacer(renderCap);
 
-    /** Reference to the player object. */
-    public static Player player;
+    /** Largest frame-time jitter of the last second, in nanoseconds. */
+    private long jitter = 0L;
 
-    /** Reference to the level's goal portal. */
-    public static PortalBlock goal;
+    /**
+     * Whether frames are drawn on a render thread of their own, so a slow buffer flip never stretches a tick.
+     * Set with the "echotrials.pipeline" system property.
+     */
+    public static boolean pipelined = Boolean.getBoolean("echotrials.pipeline");
 
-    /** Camera controller for the game view. */
-    public static Camera camera;
+    /**
+     * File the buttons of every tick are recorded to when the game exits, or null to record nothing.
+     * Set with the "echotrials.record" system property; {@link HeadlessRunner} replays the file.
+     */
+    public static String recordingFile = System.getProperty("echotrials.record");
 
-    /** Size multiplier for game objects. */
-    public static final int multiplier = 48;
+    /** Keyboard input of the window, polled once per tick. */
+    private final transient KeyInput input;
 
-    /** Flag indicating if the game is currently running. */
-    private boolean running = false;
+    /** Recorder of the buttons of every tick, or null when the game is not recorded. */
+    private final transient InputRecorder recorder;
 
-    /** Handler for game objects and events. */
-    private static final Handler handler = new Handler();
+    /**
+     * The Scene class holds everything one frame draws, recorded by the game loop and drawn by {@link #present(Scene)}.
+     * The game objects and the overlay are recorded as display lists, so drawing a scene never reads the game state.
+     */
+    private static final class Scene {
+        /** Drawing of the game objects, in level coordinates. */
+        private final DisplayList world = new DisplayList();
 
-    /** ID of the current level being played. */
-    public static LevelID currentLevel;
+        /** Drawing of the overlay, in screen coordinates. */
+        private final DisplayList screen = new DisplayList();
 
-    /** Flag indicating if speedrun mode is active. */
-    public static boolean SPEEDRUN = false;
+        /** Camera position of the frame. */
+        private double cameraX, cameraY;
 
-    /** Flag for debug mode. */
-    public static final boolean DEBUG = false;
+        /** Scale from game to screen coordinates. */
+        private double zoomX, zoomY;
 
-    /** Title displayed during speedrun mode. */
-    private static String speedrunTitle = "SPEEDRUN";
+        /** Whether the loading screen is shown under the game objects. */
+        private boolean loading;
+    }
 
-    /** Seconds counter for speedrun timing. */
-    private static int SECONDS = 0;
+    /** Scene recorded and drawn by the game loop when frames are not pipelined. */
+    private final transient Scene scene = new Scene();
 
-    /** Milliseconds counter for speedrun timing. */
-    private static int TIME = 0;
+    /** Scenes handed from the game loop to the render thread when frames are pipelined. */
+    private final transient TripleBuffer<Scene> scenes = new TripleBuffer<>(Scene::new);
 
-    /** Current frames per second. */
-    private long fps = 0L;
+    /** The render thread, or null when frames are not pipelined. */
+    private transient Thread renderThread;
+
+    /** Time the render thread took to present its last scene, in nanoseconds, reported back to the game loop. */
+    private volatile long presentNanos = 0L;
 
     /**
      * Constructs a new Game instance.
-     * Initializes the game with user data, sets up input handlers, and creates the game window.
+     * Initializes a session for the user, sets up input handlers, and creates the game window.
      *
      * @param user The user data object containing game progress and settings
      */
     public Game(UserFiles user) {
-        this.user = user;
-        unlockedLevels.clear();
-        unlockedLevels.addAll(user.unlockedLevels());
-        loadLevel(LevelID.LEVEL_SELECTOR);
-        this.addKeyListener(new KeyInput(this, handler));
-        this.addMouseListener(new MouseInput(this, handler));
-        this.addMouseMotionListener(new MouseMotionSensor(handler));
+        this.session = new Session(user);
+        session.loadLevel(LevelID.LEVEL_SELECTOR);
+        this.input = new KeyInput(this, session.handler);
+        this.recorder = recordingFile == null ? null : startRecording();
+        this.addKeyListener(input);
+        this.addMouseListener(new MouseInput(this, session.handler));
+        this.addMouseMotionListener(new MouseMotionSensor(session.handler));
         window = new Window(WIDTH, HEIGHT, "ECHO TRIALS!", this);
         if(active != null) {
             active.stop();
@@ -231,158 +282,73 @@ public class Game extends Canvas implements Runnable {
     }
 
     /**
-     * Restarts the game to its initial state.
-     * Resets health, speedrun mode, and returns to the level selector.
-     */
-    public static void restart() {
-        health_counter = 3;
-        SPEEDRUN = false;
-        SECONDS = 0;
-        TIME = 0;
-        loadLevel(LevelID.LEVEL_SELECTOR);
-    }
-
-    /**
-     * Reloads the current level.
-     * Clears all objects and reloads the level from scratch.
-     */
-    public static void reload() {
-        handler.clear();
-        player = null;
-        LevelLoader level = new LevelLoader(handler);
-        GameLevel gameLevel = level.load(currentLevel);
-        camera = new Camera(0.0, 0.0, gameLevel.mapWidth(), gameLevel.mapHeight(), 48);
-    }
-
-    /**
-     * Loads a specific level by its ID.
-     * Handles level initialization and camera setup.
+     * Gets the session played in the window.
      *
-     * @param levelID The ID of the level to load
+     * @return The session of the active game, or null if there is none
      */
-    public static void loadLevel(LevelID levelID) {
-        if(levelID == LevelID.LEVEL_SELECTOR) {
-            health_counter = 3;
-            SPEEDRUN = false;
-            SECONDS = 0;
-            TIME = 0;
-        }
-        handler.clear();
-        if(!SPEEDRUN) health_counter = 3;
-        player = null;
-        LevelLoader level = new LevelLoader(handler);
-        GameLevel gameLevel = level.load(levelID);
-        camera = new Camera(0.0, 0.0, gameLevel.mapWidth(), gameLevel.mapHeight(), 48);
-        currentLevel = levelID;
-    }
-
-    /**
-     * Loads the next level in sequence.
-     * Handles level progression, unlocking new levels, and speedrun mode transitions.
-     */
-    public static void loadNext() {
-        List<String> groups = List.of(new String[]{"A", "B", "C", "D", "E", "F", "G", "H", "I", "J"});
-        List<String> latinNum = List.of(new String[]{"I", "II", "III", "IV", "V"});
-        if(SPEEDRUN && currentLevel.part.equals("V")) {
-            HashMap<LevelID, Double> highScore = active.user.highScore();
-            LevelID level = currentLevel;
-            Double score = Double.parseDouble(SECONDS+"."+TIME);
-            if(highScore.containsKey(level) && highScore.get(level) > score) highScore.replace(level, score);
-            else if(!highScore.containsKey(level)) highScore.put(level, score);
-            active.save();
-        }
-        if(currentLevel.part.equals("V")) {
-            if(currentLevel.group.equals("E")) {
-                if(!SPEEDRUN) {
-                    active.user.unlockedLevels().add("SPEEDRUN");
-                    unlockedLevels.add("SPEEDRUN");
-                    active.save();
-                }
-            }
-            else {
-                int currentGroup = groups.indexOf(currentLevel.group);
-                if(SPEEDRUN) {
-                    String levelName = "LEVEL_" + groups.get(++currentGroup) + "_I";
-                    loadLevel(LevelID.getByName(levelName));
-                    return;
-                }
-                active.user.unlockedLevels().add(groups.get(++currentGroup));
-                unlockedLevels.add(groups.get(currentGroup));
-                active.save();
-            }
-            loadLevel(LevelID.LEVEL_SELECTOR);
-            return;
-        }
-        handler.clear();
-        if(!SPEEDRUN) health_counter = 3;
-        player = null;
-        LevelLoader level = new LevelLoader(handler);
-        int currentNum = latinNum.indexOf(currentLevel.part);
-        String levelName = "LEVEL_" + currentLevel.group + "_" + latinNum.get(++currentNum);
-        GameLevel gameLevel = level.load(LevelID.getByName(levelName));
-        camera = new Camera(0.0, 0.0, gameLevel.mapWidth(), gameLevel.mapHeight(), 48);
-        currentLevel = gameLevel.levelID();
+    public static Session getSession() {
+        return active == null ? null : active.session;
     }
 
     /**
-     * Retrieves the high scores for all levels.
+     * Gets the keyboard input of the window, which GUI buttons press their buttons through.
      *
-     * @return A HashMap containing level names and their corresponding high scores in MM:SS:MS format
+     * @return The input of the active game, or null if there is none
      */
-    public static HashMap<String, String> getHighScores() {
-        HashMap<String, String> scores = new HashMap<>();
-        for(LevelID levelID : LevelID.values()) {
-            if(active.user.highScore().containsKey(levelID)) {
-                int minutes;
-                int seconds = active.user.highScore().get(levelID).intValue();
-                int millis = Integer.parseInt((round(active.user.highScore().get(levelID) - seconds) + "").substring(2));
-
-                minutes = seconds / 60;
-                seconds = seconds % 60;
-
-                scores.put("LEVEL_"+levelID.group, minutes+":"+seconds+":"+millis);
-
-                System.out.println(levelID.name() + " : " + active.user.highScore().get(levelID));
-            }
-        }
-        return scores;
+    public static KeyInput getInput() {
+        return active == null ? null : active.input;
     }
 
     /**
-     * Rounds a double value to two decimal places.
+     * Starts recording the buttons of every tick, with the state a replay starts from.
+     * The recording is saved when the JVM shuts down, however the game is closed.
      *
-     * @param number The number to round
-     * @return The rounded value
+     * @return The recorder
      */
-    private static double round(double number) {
-        // Creating an object of DecimalFormat class
-        DecimalFormat df_obj = new DecimalFormat("#.##");
-
-        return Double.parseDouble(df_obj.format(number));
+    private InputRecorder startRecording() {
+        InputRecorder recorder = new InputRecorder();
+        recorder.setProperty("level", session.currentLevel.name());
+        recorder.setProperty("seed", Long.toString(session.seed));
+        recorder.setProperty("unlocked", String.join(",", session.unlockedLevels));
+        recorder.setProperty("collisions", collisionEngine.name());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                recorder.save(Path.of(recordingFile));
+                System.out.println("The input recording was saved to " + recordingFile + ".");
+            }
+            catch (IOException e) {
+                System.out.println("[SEVERE]: The input recording could not be saved: " + e.getMessage());
+            }
+        }, "Recording"));
+        return recorder;
     }
 
     /**
-     * Starts the game thread.
+     * Starts the game thread, and the render thread when frames are pipelined.
      */
     public synchronized void start() {
+        this.running = true;
+        if (pipelined) {
+            renderThread = new Thread(this::renderLoop, "Render");
+            renderThread.setDaemon(true);
+            renderThread.start();
+        }
         Thread thread = new Thread(this);
         thread.start();
-        this.running = true;
     }
 
     /**
      * Exits the game safely.
      */
     public static void exit() {
-        assert active != null;
-        active.stop();
+        if(active != null) active.stop();
     }
 
     /**
      * Stops the game thread and saves user data before exiting.
      */
     public synchronized void stop() {
-        if(save()) {
+        if(session.save()) {
             this.running = false;
             Game.active = null;
             System.exit(0);
@@ -393,172 +359,241 @@ public class Game extends Canvas implements Runnable {
     }
 
     /**
-     * Saves the current user data to file.
-     *
-     * @return true if save was successful, false otherwise
+     * Runs the game loop: a fixed-timestep simulation at {@link #TICKS_PER_SECOND}, with frames capped at
+     * {@link #renderCap}. Between ticks and frames the thread waits for whichever is due first,
+     * unless frames are not capped. At most {@link #maxCatchUpTicks} ticks run before a frame;
+     * the ticks still due after them are handed to {@link #skipTicks(long)}.
+     * Each frame is drawn between the last two ticks, by the time elapsed since the last one.
+     * Only the drawing of a frame is reported to the particles as its frame time, never the ticks before it:
+     * recording and presenting it, or recording it plus the last present of the render thread when pipelined.
      */
-    private boolean save() {
-        String filename = "saves/"+user.uuid()+".data";
-        // Serialization
-        try
-        {
-            //Saving of object in a file
-            FileOutputStream file = new FileOutputStream(filename);
-            ObjectOutputStream out = new ObjectOutputStream(file);
-
-            // Method for serialization of object
-            out.writeObject(user);
-
-            out.close();
-            file.close();
-
-            System.out.println(user.username() + "' save data was updated successfully!");
-            return true;
-        }
-        catch(Exception ex)
-        {
-            System.out.println("[SEVERE]: User's save data update has failed!");
-            return false;
-        }
-    }
-
     public void run() {
-        long lastTime = System.nanoTime();
-        double amountOfTicks = 100.0;
-        double ns = 1.0E9 / amountOfTicks;
-        double delta = 0.0;
+        long tickNanos = 1_000_000_000L / TICKS_PER_SECOND;
+        long nextTick = System.nanoTime();
         long timer = System.currentTimeMillis();
         long frames = 0L;
+        pacer = new FramePacer(renderCap);
 
         while(this.running) {
             long now = System.nanoTime();
-            delta += (double)(now - lastTime) / ns;
 
-            for(lastTime = now; delta >= 1.0; --delta) {
-                this.tick();
+            int ticks = 0;
+            for(; now - nextTick >= 0 && ticks < maxCatchUpTicks; nextTick += tickNanos, ticks++) {
+                this.tick(nextTick);
+            }
+            if (now - nextTick >= 0) {
+                long behind = (now - nextTick) / tickNanos + 1;
+                skipTicks(behind);
+                nextTick += behind * tickNanos;
             }
 
-            if (this.running) {
-                this.render();
+            if (pacer.isFrameDue(now)) {
+                if (this.running) {
+                    double alpha = (now - (nextTick - tickNanos)) / (double) tickNanos;
+                    long frameStart = System.nanoTime();
+                    this.render(Math.max(0, Math.min(1, alpha)));
+                    long frameNanos = System.nanoTime() - frameStart;
+                    session.handler.getParticles().reportFrameTime(pipelined ? frameNanos + presentNanos : frameNanos);
+                }
+                pacer.frameRendered(now);
+                ++frames;
             }
 
-            ++frames;
             if (System.currentTimeMillis() - timer > 1000L) {
                 timer += 1000L;
                 this.fps = frames;
+                this.jitter = pacer.takeMaxJitter();
                 frames = 0L;
             }
+
+            if (!pacer.isUnlimited()) {
+                long nextFrame = pacer.getNextFrame();
+                FramePacer.waitUntil(nextFrame - nextTick < 0 ? nextFrame : nextTick);
+            }
         }
 
         this.stop();
     }
 
-    private void tick() {
-        for(int i = 0; i < handler.getObject().size(); ++i) {
-            if ((handler.getObject().get(i)).getId() == ID.Player) {
-                camera.tick(handler.getObject().get(i));
+    /**
+     * Accounts for ticks the game loop is too far behind to run, according to {@link #catchUpPolicy}.
+     *
+     * @param ticks The number of skipped ticks
+     */
+    private void skipTicks(long ticks) {
+        if (ticks >= TICKS_PER_SECOND) {
+            System.out.println("[WARNING]: The game loop fell behind by " + ticks + " ticks, which were skipped (" + catchUpPolicy + ").");
+        }
+        switch (catchUpPolicy) {
+            case DROP -> droppedTicks += ticks;
+            case DILATE -> dilatedTicks += ticks;
+        }
+        session.skipTicks(ticks, catchUpPolicy);
+    }
+
+    /**
+     * Runs one tick: the buttons due by the time of the tick are taken from the input queue, recorded and
+     * applied to the session, then the session and the GUI advance. This is the only point input is applied.
+     *
+     * @param time The time the tick is due, in {@link System#nanoTime()} nanoseconds
+     */
+    private void tick(long time) {
+        int buttons = input.poll(time);
+        if (recorder != null) recorder.record(buttons);
+        session.tick(buttons);
+        if (session.isExitRequested()) exit();
+
+        for (GUIButton guiElement : new ArrayList<>(guiElements)) {
+            guiElement.tick();
+        }
+    }
+
+    /**
+     * Draws a frame. The frame is recorded into a scene first; without pipelining the scene is presented at once,
+     * otherwise it is published to the render thread.
+     *
+     * @param alpha Time elapsed since the last tick, as a fraction of a tick
+     */
+    private void render(double alpha) {
+        Scene scene = pipelined ? scenes.back() : this.scene;
+        record(scene, alpha);
+        if (pipelined) {
+            scenes.publish();
+            LockSupport.unpark(renderThread);
+        }
+        else {
+            present(scene);
+        }
+    }
+
+    /**
+     * Records a frame into a scene: the game objects in level coordinates and the overlay in screen coordinates.
+     * Runs on the game loop thread, so it may read the game state freely.
+     *
+     * @param scene The scene to record into
+     * @param alpha Time elapsed since the last tick, as a fraction of a tick
+     */
+    private void record(Scene scene, double alpha) {
+        Rectangle r = frame.getBounds();
+        if(frame.isAlwaysOnTop()) r = frame.getMaximizedBounds();
+        int screenWidth = r.width;
+        int screenHeight = r.height;
+
+        double width = Game.WIDTH;
+        double height = Game.HEIGHT;
+
+        scene.zoomX = screenWidth / width;
+        scene.zoomY = screenHeight / height;
+        Handler handler = session.handler;
+        Player player = session.player;
+        scene.loading = handler.isEmpty();
+        scene.cameraX = session.camera.getX(alpha);
+        scene.cameraY = session.camera.getY(alpha);
+
+        scene.world.reset();
+        handler.render(scene.world, alpha);
+
+        scene.screen.reset();
+        Graphics g = scene.screen;
+        g.setColor(Color.white);
+        if(DEBUG) {
+            g.drawString("FPS: " + this.fps + " (jitter: " + String.format("%.2f", pacer.getAverageJitter() / 1.0E6)
+                    + " ms, max: " + String.format("%.2f", this.jitter / 1.0E6) + " ms)", 10, 10);
+            if (player != null) {
+                g.drawString("X: " + player.getX(), 10, 20);
+            }
+
+            if (player != null) {
+                g.drawString("Y: " + player.getY(), 10, 30);
             }
+
+            ParticleSystem particles = handler.getParticles();
+            g.drawString("Particles: " + particles.size() + " (dropped: " + particles.getDroppedSpawns()
+                    + ", LOD: " + particles.getLod() + ")", 10, 40);
+            g.drawString("Skipped ticks: " + droppedTicks + " dropped, " + dilatedTicks + " dilated", 10, 50);
+        }
+        if(session.SPEEDRUN) {
+            String timer = session.getSeconds() + ":" + session.getTime();
+            g.setFont(new Font("VERDANA", Font.BOLD, 45));
+            FontMetrics fm = g.getFontMetrics();
+            java.awt.geom.Rectangle2D rect = fm.getStringBounds(timer, g);
+            int textWidth = (int) (rect.getWidth());
+
+            // Center text horizontally and vertically
+            int centeredX = (screenWidth - textWidth) / 2;
+
+            g.drawString(timer, centeredX, screenHeight - 200);  // Draw the string.
+
+            // Time the game loop could not simulate is shown, so a run is never silently shorter or longer.
+            int dropped = session.getDroppedTime();
+            int dilated = session.getDilatedTime();
+            if (dropped > 0 || dilated > 0) {
+                g.setFont(new Font("VERDANA", Font.PLAIN, 18));
+                String lag = "";
+                if (dropped > 0) lag += "+" + dropped / 100 + ":" + dropped % 100 + " lag ";
+                if (dilated > 0) lag += "(" + dilated / 100 + ":" + dilated % 100 + " dilated)";
+                int lagWidth = (int) g.getFontMetrics().getStringBounds(lag, g).getWidth();
+                g.drawString(lag, (screenWidth - lagWidth) / 2, screenHeight - 175);
+            }
+
+            g.setColor(Color.red);
+            g.setFont(new Font("VERDANA", Font.BOLD, 25));
+
+            g.drawString(session.getSpeedrunTitle(), 10, 30);  // Draw the string.
+
+
         }
-        if(SPEEDRUN)
-            if(++TIME >= 100) {
-                TIME = 0;
-                SECONDS++;
+
+        int i;
+        if (session.bubble_flag) {
+            for(i = 0; i < session.bubble_counter; ++i) {
+                g.drawImage(gameImages.bubble, screenWidth / 2 - i * 38 - 16, screenHeight - 100, null);
+                g.drawImage(gameImages.bubble, screenWidth / 2 + i * 38 - 16, screenHeight - 100, null);
             }
-            else if(TIME == 20 || TIME == 40 || TIME == 60 || TIME == 80) {
-                if(Objects.equals(speedrunTitle, "")) speedrunTitle = "SPEEDRUN";
-                else speedrunTitle = "";
+        }
+
+        if (!handler.isEmpty()) {
+            for(i = 0; i < session.health_counter; ++i) {
+                g.drawImage(gameImages.heart, screenWidth / 2 - i * 38 - 16, screenHeight - 150, null);
+                g.drawImage(gameImages.heart, screenWidth / 2 + i * 38 - 16, screenHeight - 150, null);
             }
-        handler.tick();
+        }
 
         for (GUIButton guiElement : new ArrayList<>(guiElements)) {
-            guiElement.tick();
+            guiElement.render(g);
         }
+
     }
 
-    private void render() {
+    /**
+     * Draws a recorded scene to the screen.
+     * Runs on the game loop thread, or on the render thread when frames are pipelined.
+     *
+     * @param scene The scene to draw
+     */
+    private void present(Scene scene) {
         BufferStrategy bs = this.getBufferStrategy();
         if (bs == null) {
             this.createBufferStrategy(2);
         } else {
             Graphics g = bs.getDrawGraphics(); // GUI Graphics
             Graphics2D g2d = (Graphics2D) g.create(); // Game Graphics
-            Rectangle r = frame.getBounds();
-            if(frame.isAlwaysOnTop()) r = frame.getMaximizedBounds();
-            int screenWidth = r.width;
-            int screenHeight = r.height;
-
-            double width = Game.WIDTH;
-            double height = Game.HEIGHT;
-
-            double zoomX = screenWidth / width;
-            double zoomY = screenHeight / height;
-
-            double zoomWidth = width * zoomX;
-            double zoomHeight = height * zoomY;
 
             double anchorx = 0;
             double anchory = 0;
 
             AffineTransform at = new AffineTransform();
             at.translate(anchorx, anchory);
-            at.scale(zoomX, zoomY);
+            at.scale(scene.zoomX, scene.zoomY);
             g2d.setTransform(at);
 
-            if (handler.getObject().isEmpty()) {
+            if (scene.loading) {
                 g2d.drawImage(gameImages.loadingScreen, 0, 0, null);
             }
 
-            g2d.translate(-camera.getX(), -camera.getY());
-            handler.render(g2d);
-            g2d.translate(camera.getX(), camera.getY());
-            g.setColor(Color.white);
-            if(DEBUG) {
-                g.drawString("FPS: " + this.fps, 10, 10);
-                if (player != null) {
-                    g.drawString("X: " + player.getX(), 10, 20);
-                }
-
-                if (player != null) {
-                    g.drawString("Y: " + player.getY(), 10, 30);
-                }
-            }
-            if(SPEEDRUN) {
-                g.setFont(new Font("VERDANA", Font.BOLD, 45));
-                FontMetrics fm = g.getFontMetrics();
-                java.awt.geom.Rectangle2D rect = fm.getStringBounds(SECONDS + ":" + TIME, g);
-                int textWidth = (int) (rect.getWidth());
-
-                // Center text horizontally and vertically
-                int centeredX = (screenWidth - textWidth) / 2;
-
-                g.drawString(SECONDS + ":" + TIME, centeredX, screenHeight - 200);  // Draw the string.
-
-                g.setColor(Color.red);
-                g.setFont(new Font("VERDANA", Font.BOLD, 25));
-
-                g.drawString(speedrunTitle, 10, 30);  // Draw the string.
-
-
-            }
-
-            int i;
-            if (bubble_flag) {
-                for(i = 0; i < bubble_counter; ++i) {
-                    g.drawImage(gameImages.bubble, screenWidth / 2 - i * 38 - 16, screenHeight - 100, null);
-                    g.drawImage(gameImages.bubble, screenWidth / 2 + i * 38 - 16, screenHeight - 100, null);
-                }
-            }
-
-            if (!handler.getObject().isEmpty()) {
-                for(i = 0; i < health_counter; ++i) {
-                    g.drawImage(gameImages.heart, screenWidth / 2 - i * 38 - 16, screenHeight - 150, null);
-                    g.drawImage(gameImages.heart, screenWidth / 2 + i * 38 - 16, screenHeight - 150, null);
-                }
-            }
-
-            for (GUIButton guiElement : new ArrayList<>(guiElements)) {
-                guiElement.render(g);
-            }
+            g2d.translate(-scene.cameraX, -scene.cameraY);
+            scene.world.replay(g2d);
+            scene.screen.replay(g);
 
             g.dispose();
             g2d.dispose();
@@ -566,6 +601,22 @@ public class Game extends Canvas implements Runnable {
         }
     }
 
+    /**
+     * Runs the render thread: draws every scene the game loop publishes, parking while there is none.
+     * The time each present takes is published back to the game loop, which reports it to the particles.
+     */
+    private void renderLoop() {
+        while (this.running) {
+            if (!scenes.isFresh()) {
+                LockSupport.park(this);
+                continue;
+            }
+            long start = System.nanoTime();
+            present(scenes.latest());
+            presentNanos = System.nanoTime() - start;
+        }
+    }
+
     public List<GUIButton> getGUIElements() {
         return new ArrayList<>(guiElements);
     }
@@ -0,0 +1,225 @@
+package com.unipi.alexandris.game.echotrials.base;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import com.unipi.alexandris.game.echotrials.base.core.LevelID;
+import com.unipi.alexandris.game.echotrials.base.loaders.SoundFXLoader;
+import com.unipi.alexandris.game.echotrials.base.physics.CollisionWorld;
+import com.unipi.alexandris.game.echotrials.base.sensors.InputScript;
+
+/**
+ * The HeadlessRunner class plays a level without a window, JavaFX or sound.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Loading a level and ticking it as fast as the machine allows, instead of at {@link Game#TICKS_PER_SECOND}</li>
+ *   <li>Feeding the buttons of an {@link InputScript} to the level, one tick at a time</li>
+ *   <li>Replaying a recording of the game, made with the "echotrials.record" system property, bit for bit</li>
+ *   <li>Reporting the simulation speed and the state the level ended in</li>
+ * </ul>
+ * Nothing is rendered, and the speedrun timer and the random seed behave as in the game.
+ * Usage: {@code HeadlessRunner <LEVEL_ID> <script|-> [ticks]}, where "-" runs without input,
+ * or {@code HeadlessRunner <recording>} to replay a recording.
+ */
+public class HeadlessRunner {
+
+	/** Ticks run without a script when no tick count is given. */
+	private static final long DEFAULT_TICKS = 60L * Game.TICKS_PER_SECOND;
+
+	/**
+	 * How a headless run ended.
+	 * <ul>
+	 *   <li>COMPLETED: the player went through the goal portal</li>
+	 *   <li>GAME_OVER: the player ran out of health and the game went back to the level selector</li>
+	 *   <li>TIMED_OUT: the tick limit was reached first</li>
+	 *   <li>REPLAYED: every tick of a recording was replayed</li>
+	 *   <li>FAILED: the run threw an exception</li>
+	 * </ul>
+	 */
+	public enum Outcome {COMPLETED, GAME_OVER, TIMED_OUT, REPLAYED, FAILED}
+
+	/**
+	 * Record of the result of a headless run.
+	 *
+	 * @param level The level the run started in
+	 * @param outcome How the run ended
+	 * @param ticks Number of ticks run
+	 * @param nanos Wall time of the run in nanoseconds
+	 * @param finalLevel The level loaded when the run ended
+	 * @param playerX Final X coordinate of the player, or NaN without a player
+	 * @param playerY Final Y coordinate of the player, or NaN without a player
+	 * @param health Final health of the player
+	 * @param deaths Number of times the player died
+	 * @param levelsCompleted Number of levels finished through their goal portal
+	 */
+	public record Result(LevelID level, Outcome outcome, long ticks, long nanos, LevelID finalLevel,
+						 double playerX, double playerY, int health, int deaths, int levelsCompleted) {
+
+		/**
+		 * Gets the simulation speed of the run.
+		 *
+		 * @return Ticks per second of wall time
+		 */
+		public double ticksPerSecond() {
+			return nanos > 0 ? ticks * 1.0E9 / nanos : 0;
+		}
+	}
+
+	/**
+	 * Plays a level with the game seed until it is completed, the game is over or the tick limit is reached.
+	 *
+	 * @param level The level to play
+	 * @param script The buttons of every tick
+	 * @param maxTicks The tick limit
+	 * @return The result of the run
+	 * @see #run(LevelID, InputScript, long, long)
+	 */
+	public static Result run(LevelID level, InputScript script, long maxTicks) {
+		return run(level, script, Game.seed, maxTicks);
+	}
+
+	/**
+	 * Plays a level until it is completed, the game is over or the tick limit is reached.
+	 * The buttons of the script are applied by {@link Session#tick(int)}, as in the game.
+	 * The run has a session of its own, so runs on different threads do not affect each other.
+	 *
+	 * @param level The level to play
+	 * @param script The buttons of every tick
+	 * @param seed The seed the level is built with
+	 * @param maxTicks The tick limit
+	 * @return The result of the run
+	 */
+	public static Result run(LevelID level, InputScript script, long seed, long maxTicks) {
+		SoundFXLoader.muted = true;
+		Session session = new Session(null);
+		session.seed = seed;
+		session.loadLevel(level);
+
+		Outcome outcome = Outcome.TIMED_OUT;
+		long tick = 0;
+		long start = System.nanoTime();
+		while(tick < maxTicks) {
+			session.tick(script.buttonsAt(tick));
+			tick++;
+
+			if(session.levelsCompleted > 0) {
+				outcome = Outcome.COMPLETED;
+				break;
+			}
+			if(session.currentLevel == LevelID.LEVEL_SELECTOR && level != LevelID.LEVEL_SELECTOR) {
+				outcome = Outcome.GAME_OVER;
+				break;
+			}
+		}
+		return result(session, level, outcome, tick, System.nanoTime() - start);
+	}
+
+	/**
+	 * Replays a recording of the game from the state it was recorded from, through every level it played,
+	 * until its last tick or until the player left the game. Since the game applies the recorded buttons
+	 * the same way, the replay ends in the same state the game did. Ticks the game skipped to catch up
+	 * were never simulated, so they are not recorded and the replayed speedrun timer does not count them.
+	 *
+	 * @param recording The recording, with the "level", "seed" and "unlocked" properties the game wrote
+	 * @return The result of the replay
+	 * @throws IllegalArgumentException If a property of the recording is malformed
+	 */
+	public static Result replay(InputScript recording) {
+		String name = recording.getProperty("level", LevelID.LEVEL_SELECTOR.name());
+		LevelID level = LevelID.getByName(name);
+		if(level == null) throw new IllegalArgumentException("Unknown level \"" + name + "\"");
+		SoundFXLoader.muted = true;
+		Session session = new Session(null);
+		session.seed = Long.parseLong(recording.getProperty("seed", Long.toString(Game.seed)));
+		for(String unlocked : recording.getProperty("unlocked", "").split(",")) {
+			if(!unlocked.isBlank()) session.unlockedLevels.add(unlocked.strip());
+		}
+		session.loadLevel(level);
+
+		long tick = 0;
+		long start = System.nanoTime();
+		while(tick < recording.length() && !session.isExitRequested()) {
+			session.tick(recording.buttonsAt(tick));
+			tick++;
+		}
+		return result(session, level, Outcome.REPLAYED, tick, System.nanoTime() - start);
+	}
+
+	/**
+	 * Collects the state a session ended in.
+	 *
+	 * @param session The session of the run
+	 * @param level The level the run started in
+	 * @param outcome How the run ended
+	 * @param ticks Number of ticks run
+	 * @param nanos Wall time of the run in nanoseconds
+	 * @return The result of the run
+	 */
+	private static Result result(Session session, LevelID level, Outcome outcome, long ticks, long nanos) {
+		double playerX = session.player == null ? Double.NaN : session.player.getX();
+		double playerY = session.player == null ? Double.NaN : session.player.getY();
+		return new Result(level, outcome, ticks, nanos, session.currentLevel, playerX, playerY,
+				session.health_counter, session.deaths, session.levelsCompleted);
+	}
+
+	/**
+	 * Runs a level from the command line and prints the result.
+	 *
+	 * @param args The level ID, the script file or "-", and optionally the tick limit; or a recording
+	 */
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		if(args.length < 1 || args.length > 3) {
+			System.out.println("Usage: HeadlessRunner <LEVEL_ID> <script|-> [ticks] | HeadlessRunner <recording>");
+			System.exit(1);
+		}
+		if(args.length == 1) {
+			Result result;
+			try {
+				InputScript recording = InputScript.load(Path.of(args[0]));
+				Game.collisionEngine = CollisionWorld.Engine.valueOf(recording.getProperty("collisions", Game.collisionEngine.name()));
+				result = replay(recording);
+			}
+			catch(Exception e) {
+				System.out.println("[SEVERE]: The recording could not be replayed: " + e.getMessage());
+				System.exit(1);
+				return;
+			}
+			print(result);
+			System.exit(0);
+		}
+
+		LevelID level = LevelID.getByName(args[0].toUpperCase());
+		if(level == null) {
+			System.out.println("[SEVERE]: Unknown level \"" + args[0] + "\".");
+			System.exit(1);
+		}
+		InputScript script;
+		long ticks;
+		try {
+			script = args[1].equals("-") ? InputScript.parse(List.of()) : InputScript.load(Path.of(args[1]));
+			ticks = args.length > 2 ? Long.parseLong(args[2]) : args[1].equals("-") ? DEFAULT_TICKS : script.length();
+		}
+		catch(Exception e) {
+			System.out.println("[SEVERE]: The input script could not be loaded: " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+
+		print(run(level, script, ticks));
+		System.exit(0);
+	}
+
+	/**
+	 * Prints the result of a run.
+	 *
+	 * @param result The result of the run
+	 */
+	private static void print(Result result) {
+		System.out.println(result.level() + ": " + result.outcome() + " after " + result.ticks() + " ticks in "
+				+ String.format("%.1f", result.nanos() / 1.0E6) + " ms (" + String.format("%.0f", result.ticksPerSecond()) + " ticks/s)");
+		System.out.println("Final state: " + result.finalLevel() + ", player at (" + String.format("%.2f", result.playerX())
+				+ ", " + String.format("%.2f", result.playerY()) + "), health " + result.health() + ", deaths " + result.deaths()
+				+ ", levels completed " + result.levelsCompleted());
+	}
+}
@@ -0,0 +1,459 @@
+package com.unipi.alexandris.game.echotrials.base;
+
+import java.awt.geom.Area;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+import com.unipi.alexandris.game.echotrials.base.core.Camera;
+import com.unipi.alexandris.game.echotrials.base.core.GameLevel;
+import com.unipi.alexandris.game.echotrials.base.core.ID;
+import com.unipi.alexandris.game.echotrials.base.core.LevelID;
+import com.unipi.alexandris.game.echotrials.base.core.UserFiles;
+import com.unipi.alexandris.game.echotrials.base.handlers.Handler;
+import com.unipi.alexandris.game.echotrials.base.loaders.LevelLoader;
+import com.unipi.alexandris.game.echotrials.base.physics.AreaCollisionWorld;
+import com.unipi.alexandris.game.echotrials.base.physics.CollisionWorld;
+import com.unipi.alexandris.game.echotrials.base.physics.DynamicColliders;
+import com.unipi.alexandris.game.echotrials.base.roomobjects.Player;
+import com.unipi.alexandris.game.echotrials.base.roomobjects.PortalBlock;
+import com.unipi.alexandris.game.echotrials.base.sensors.KeyInput;
+
+/**
+ * The Session class holds the state of one simulation of Echo Trials: the current level and everything in it.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Owning the handler of the game objects, the collision geometry and the camera of the level</li>
+ *   <li>Tracking the player's health, air and deaths</li>
+ *   <li>Loading, reloading and advancing levels</li>
+ *   <li>Applying the buttons of every tick, so the same buttons always play out the same way</li>
+ *   <li>Speedrun mode and its timer</li>
+ *   <li>Keeping the progress of the user playing the session, if there is one</li>
+ * </ul>
+ * Sessions share no mutable state, so any number of them can be simulated side by side, one thread each.
+ * The interactive game plays one session; headless runs create their own without a user.
+ */
+public final class Session {
+
+	/** User data of the player of the session, or null if progress is not kept. */
+	private final UserFiles user;
+
+	/** Levels unlocked by the player. */
+	public final ArrayList<String> unlockedLevels = new ArrayList<>();
+
+	/** Handler for the game objects and events of the session. */
+	public final Handler handler;
+
+	/** Seed the random look and particle behavior of the levels of the session are derived from. */
+	public long seed = Game.seed;
+
+	/** Loader of the levels of the session, which keeps the snapshot of the current level. */
+	private final LevelLoader loader;
+
+	/** Collision area for solid blocks. */
+	public Area block = new Area();
+
+	/** Collision area for ice blocks. */
+	public Area ice = new Area();
+
+	/** Collision area for water blocks. */
+	public Area water = new Area();
+
+	/** Kinematic solid boxes, such as moving blocks, checked together with the collision areas. */
+	public DynamicColliders colliders = new DynamicColliders();
+
+	/** Collision geometry of the current level, queried by the physics. */
+	public CollisionWorld world = new AreaCollisionWorld(block, ice, water, colliders);
+
+	/** List of hazard locations in the current level. */
+	public ArrayList<Integer> hazardsMap = new ArrayList<>();
+
+	/** Initial player X coordinate. */
+	public int i_p_x;
+
+	/** Initial player Y coordinate. */
+	public int i_p_y;
+
+	/** Number of bubble power-ups available. */
+	public int bubble_counter = 10;
+
+	/** Player's current health points. */
+	public int health_counter = 3;
+
+	/** Flag indicating if bubble shield is active. */
+	public boolean bubble_flag;
+
+	/** Number of times the player died and the level was reloaded. */
+	public int deaths = 0;
+
+	/** Number of levels the player finished through their goal portal. */
+	public int levelsCompleted = 0;
+
+	/** Reference to the player object. */
+	public Player player;
+
+	/** Reference to the level's goal portal. */
+	public PortalBlock goal;
+
+	/** Camera controller for the level view. */
+	public Camera camera;
+
+	/** ID of the current level being played. */
+	public LevelID currentLevel;
+
+	/** Flag indicating if speedrun mode is active. */
+	public boolean SPEEDRUN = false;
+
+	/** Title displayed during speedrun mode. */
+	private String speedrunTitle = "SPEEDRUN";
+
+	/** Seconds counter for speedrun timing. */
+	private int SECONDS = 0;
+
+	/** Milliseconds counter for speedrun timing. */
+	private int TIME = 0;
+
+	/** Ticks of the current speedrun skipped by the game loop and added to the timer. */
+	private int SPEEDRUN_DROPPED = 0;
+
+	/** Ticks of the current speedrun skipped by the game loop and left out of the timer. */
+	private int SPEEDRUN_DILATED = 0;
+
+	/** Flag indicating if the player asked to leave the game. */
+	private boolean exitRequested = false;
+
+	/** Buttons applied on the last tick. */
+	private int held = 0;
+
+	/**
+	 * Constructs a new Session with no level loaded.
+	 *
+	 * @param user The user data of the player, or null to keep no progress
+	 */
+	public Session(UserFiles user) {
+		this.user = user;
+		if(user != null) unlockedLevels.addAll(user.unlockedLevels());
+		this.handler = new Handler(this);
+		this.loader = new LevelLoader(this);
+	}
+
+	/**
+	 * Applies the buttons of a tick and advances the current level by it.
+	 * Buttons still held are pressed again, like a held key repeats, and buttons let go are released.
+	 * {@link KeyInput#BACK} and {@link KeyInput#SCORES} act once, on the tick they are pressed.
+	 * This is the only way input reaches a session, so a recording of these buttons replays bit for bit.
+	 *
+	 * @param buttons The button bits held on this tick
+	 */
+	public void tick(int buttons) {
+		int pressed = buttons & ~held;
+		if((pressed & KeyInput.BACK) != 0) {
+			if(currentLevel == LevelID.LEVEL_SELECTOR) requestExit();
+			else restart();
+		}
+		if((pressed & KeyInput.SCORES) != 0 && currentLevel == LevelID.LEVEL_SELECTOR) loadLevel(LevelID.LEVEL_HIGHSCORE);
+		KeyInput.release(handler, held & ~buttons);
+		KeyInput.press(handler, buttons);
+		held = buttons;
+		tick();
+	}
+
+	/**
+	 * Advances the current level by one tick: the camera, the speedrun timer and every game object.
+	 */
+	private void tick() {
+		camera.savePosition();
+		for(int i = 0; i < handler.count(ID.Player); ++i) {
+			camera.tick(handler.get(ID.Player, i));
+		}
+		if(SPEEDRUN)
+			if(++TIME >= 100) {
+				TIME = 0;
+				SECONDS++;
+			}
+			else if(TIME == 20 || TIME == 40 || TIME == 60 || TIME == 80) {
+				if(Objects.equals(speedrunTitle, "")) speedrunTitle = "SPEEDRUN";
+				else speedrunTitle = "";
+			}
+		handler.tick();
+	}
+
+	/**
+	 * Accounts for ticks the game loop was too far behind to run in the speedrun timer.
+	 *
+	 * @param ticks The number of skipped ticks
+	 * @param policy DROP to add the time to the timer, DILATE to leave it out
+	 */
+	public void skipTicks(long ticks, Game.CatchUp policy) {
+		if(!SPEEDRUN) return;
+		switch(policy) {
+			case DROP -> {
+				SPEEDRUN_DROPPED += (int) ticks;
+				TIME += (int) ticks;
+				SECONDS += TIME / 100;
+				TIME %= 100;
+			}
+			case DILATE -> SPEEDRUN_DILATED += (int) ticks;
+		}
+	}
+
+	/**
+	 * Resets the speedrun timer.
+	 */
+	private void resetTimer() {
+		SECONDS = 0;
+		TIME = 0;
+		SPEEDRUN_DROPPED = 0;
+		SPEEDRUN_DILATED = 0;
+	}
+
+	/**
+	 * Restarts the session to its initial state.
+	 * Resets health, speedrun mode, and returns to the level selector.
+	 */
+	public void restart() {
+		health_counter = 3;
+		SPEEDRUN = false;
+		resetTimer();
+		loadLevel(LevelID.LEVEL_SELECTOR);
+	}
+
+	/**
+	 * Reloads the current level.
+	 * Clears all objects and restores the level from the snapshot taken when it was loaded.
+	 */
+	public void reload() {
+		deaths++;
+		handler.clear();
+		player = null;
+		GameLevel gameLevel = loader.reload(currentLevel);
+		setCamera(gameLevel);
+	}
+
+	/**
+	 * Loads a specific level by its ID.
+	 * Handles level initialization and camera setup.
+	 *
+	 * @param levelID The ID of the level to load
+	 */
+	public void loadLevel(LevelID levelID) {
+		if(levelID == LevelID.LEVEL_SELECTOR) {
+			health_counter = 3;
+			SPEEDRUN = false;
+			resetTimer();
+		}
+		handler.clear();
+		if(!SPEEDRUN) health_counter = 3;
+		player = null;
+		GameLevel gameLevel = loader.load(levelID);
+		setCamera(gameLevel);
+		currentLevel = levelID;
+	}
+
+	/**
+	 * Loads the next level in sequence.
+	 * Handles level progression, unlocking new levels, and speedrun mode transitions.
+	 * Progress is saved only if the session has a user.
+	 */
+	public void loadNext() {
+		List<String> groups = List.of(new String[]{"A", "B", "C", "D", "E", "F", "G", "H", "I", "J"});
+		List<String> latinNum = List.of(new String[]{"I", "II", "III", "IV", "V"});
+		levelsCompleted++;
+		if(SPEEDRUN && currentLevel.part.equals("V") && user != null) {
+			HashMap<LevelID, Double> highScore = user.highScore();
+			LevelID level = currentLevel;
+			Double score = Double.parseDouble(SECONDS+"."+TIME);
+			if(highScore.containsKey(level) && highScore.get(level) > score) highScore.replace(level, score);
+			else if(!highScore.containsKey(level)) highScore.put(level, score);
+			save();
+		}
+		if(currentLevel.part.equals("V")) {
+			if(currentLevel.group.equals("E")) {
+				if(!SPEEDRUN) {
+					unlockedLevels.add("SPEEDRUN");
+					if(user != null) {
+						user.unlockedLevels().add("SPEEDRUN");
+						save();
+					}
+				}
+			}
+			else {
+				int currentGroup = groups.indexOf(currentLevel.group);
+				if(SPEEDRUN) {
+					String levelName = "LEVEL_" + groups.get(++currentGroup) + "_I";
+					loadLevel(LevelID.getByName(levelName));
+					return;
+				}
+				unlockedLevels.add(groups.get(++currentGroup));
+				if(user != null) {
+					user.unlockedLevels().add(groups.get(currentGroup));
+					save();
+				}
+			}
+			loadLevel(LevelID.LEVEL_SELECTOR);
+			return;
+		}
+		handler.clear();
+		if(!SPEEDRUN) health_counter = 3;
+		player = null;
+		int currentNum = latinNum.indexOf(currentLevel.part);
+		String levelName = "LEVEL_" + currentLevel.group + "_" + latinNum.get(++currentNum);
+		GameLevel gameLevel = loader.load(LevelID.getByName(levelName));
+		setCamera(gameLevel);
+		currentLevel = gameLevel.levelID();
+	}
+
+	/**
+	 * Points a new camera at a freshly loaded level.
+	 *
+	 * @param gameLevel The loaded level
+	 */
+	private void setCamera(GameLevel gameLevel) {
+		camera = new Camera(0.0, 0.0, gameLevel.mapWidth(), gameLevel.mapHeight(), 48);
+		handler.getParticles().setCamera(camera);
+	}
+
+	/**
+	 * Retrieves the high scores of the user for all levels.
+	 *
+	 * @return A HashMap containing level names and their corresponding high scores in MM:SS:MS format,
+	 *         empty if the session has no user
+	 */
+	public HashMap<String, String> getHighScores() {
+		HashMap<String, String> scores = new HashMap<>();
+		if(user == null) return scores;
+		for(LevelID levelID : LevelID.values()) {
+			if(user.highScore().containsKey(levelID)) {
+				int minutes;
+				int seconds = user.highScore().get(levelID).intValue();
+				int millis = Integer.parseInt((round(user.highScore().get(levelID) - seconds) + "").substring(2));
+
+				minutes = seconds / 60;
+				seconds = seconds % 60;
+
+				scores.put("LEVEL_"+levelID.group, minutes+":"+seconds+":"+millis);
+
+				System.out.println(levelID.name() + " : " + user.highScore().get(levelID));
+			}
+		}
+		return scores;
+	}
+
+	/**
+	 * Rounds a double value to two decimal places.
+	 *
+	 * @param number The number to round
+	 * @return The rounded value
+	 */
+	private static double round(double number) {
+		// Creating an object of DecimalFormat class
+		DecimalFormat df_obj = new DecimalFormat("#.##");
+
+		return Double.parseDouble(df_obj.format(number));
+	}
+
+	/**
+	 * Saves the user data of the session to file.
+	 *
+	 * @return true if save was successful or there is no user, false otherwise
+	 */
+	public boolean save() {
+		if(user == null) return true;
+		String filename = "saves/"+user.uuid()+".data";
+		// Serialization
+		try
+		{
+			//Saving of object in a file
+			FileOutputStream file = new FileOutputStream(filename);
+			ObjectOutputStream out = new ObjectOutputStream(file);
+
+			// Method for serialization of object
+			out.writeObject(user);
+
+			out.close();
+			file.close();
+
+			System.out.println(user.username() + "' save data was updated successfully!");
+			return true;
+		}
+		catch(Exception ex)
+		{
+			System.out.println("[SEVERE]: User's save data update has failed!");
+			return false;
+		}
+	}
+
+	/**
+	 * Asks to leave the game. The interactive game exits after the current tick; headless runs ignore it.
+	 */
+	public void requestExit() {
+		exitRequested = true;
+	}
+
+	/**
+	 * Checks whether the player asked to leave the game.
+	 *
+	 * @return true if an exit was requested, false otherwise
+	 */
+	public boolean isExitRequested() {
+		return exitRequested;
+	}
+
+	/**
+	 * Gets the user data of the player of the session.
+	 *
+	 * @return The user data, or null if progress is not kept
+	 */
+	public UserFiles getUser() {
+		return user;
+	}
+
+	/**
+	 * Gets the blinking title shown during speedrun mode.
+	 *
+	 * @return The title, or an empty string while it is blinked off
+	 */
+	public String getSpeedrunTitle() {
+		return speedrunTitle;
+	}
+
+	/**
+	 * Gets the whole seconds of the speedrun timer.
+	 *
+	 * @return The seconds
+	 */
+	public int getSeconds() {
+		return SECONDS;
+	}
+
+	/**
+	 * Gets the hundredths of a second of the speedrun timer.
+	 *
+	 * @return The hundredths
+	 */
+	public int getTime() {
+		return TIME;
+	}
+
+	/**
+	 * Gets the ticks of the current speedrun skipped by the game loop and added to the timer.
+	 *
+	 * @return The dropped ticks
+	 */
+	public int getDroppedTime() {
+		return SPEEDRUN_DROPPED;
+	}
+
+	/**
+	 * Gets the ticks of the current speedrun skipped by the game loop and left out of the timer.
+	 *
+	 * @return The dilated ticks
+	 */
+	public int getDilatedTime() {
+		return SPEEDRUN_DILATED;
+	}
+}
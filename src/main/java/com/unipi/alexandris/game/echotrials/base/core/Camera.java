@@ -16,6 +16,9 @@ public class Camera {
 	
 	/** The camera's Y coordinate in the game world. */
 	private double y;
+
+	/** The camera's position at the start of the current tick, used to interpolate rendering. */
+	private double prevX, prevY;
 	
 	/** The width of the camera's view area in game units. */
 	private int width = 0;
@@ -38,6 +41,8 @@ public class Camera {
 	public Camera(double x, double y, int width, int height, int multiplier) {
 		this.x = x;
 		this.y = y;
+		this.prevX = x;
+		this.prevY = y;
 		this.width = width;
 		this.height = height;
 		if(multiplier > 1) this.multiplier = multiplier;
@@ -62,6 +67,35 @@ public class Camera {
 		if(y >= height * multiplier - Game.HEIGHT + (double) object.getSize() / 2 + 10) y = height * multiplier - Game.HEIGHT + (double) object.getSize() / 2 + 10;
 	}
 
+	/**
+	 * Remembers the current position as the position at the start of the tick.
+	 * Called once before every tick.
+	 */
+	public void savePosition() {
+		prevX = x;
+		prevY = y;
+	}
+
+	/**
+	 * Gets the camera's X coordinate interpolated between the previous and the current tick.
+	 *
+	 * @param alpha Fraction of the way from the previous to the current position
+	 * @return The interpolated X coordinate in game world units
+	 */
+	public double getX(double alpha) {
+		return prevX + (x - prevX) * alpha;
+	}
+
+	/**
+	 * Gets the camera's Y coordinate interpolated between the previous and the current tick.
+	 *
+	 * @param alpha Fraction of the way from the previous to the current position
+	 * @return The interpolated Y coordinate in game world units
+	 */
+	public double getY(double alpha) {
+		return prevY + (y - prevY) * alpha;
+	}
+
 	/**
 	 * Gets the camera's current X coordinate.
 	 *
@@ -78,6 +112,7 @@ public class Camera {
 	 */
 	public void setX(double x) {
 		this.x = x;
+		this.prevX = x;
 	}
 
 	/**
@@ -96,6 +131,7 @@ public class Camera {
 	 */
 	public void setY(double y) {
 		this.y = y;
+		this.prevY = y;
 	}
 
 	/**
@@ -0,0 +1,452 @@
+package com.unipi.alexandris.game.echotrials.base.core;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.text.AttributedCharacterIterator;
+import java.text.AttributedString;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * The DisplayList class is a Graphics context that records drawing commands instead of drawing them.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Recording what the game objects draw, without changing how they draw it</li>
+ *   <li>Replaying the recorded commands onto a real Graphics context later, on any thread</li>
+ *   <li>Reusing its command arrays from frame to frame, so recording does not allocate once they have grown</li>
+ * </ul>
+ * The recorded arguments are copied or immutable, except images, which must not be drawn into after they were
+ * recorded. Clipping is recorded but not tracked, so {@link #getClip()} and {@link #getClipBounds()} return null.
+ * Until a color or font is set, the list reports defaults and replays with those of the target context.
+ * {@link #create()} returns this list after recording a save of the state; {@link #dispose()} restores it.
+ */
+public class DisplayList extends Graphics {
+
+	/** Command codes. */
+	private static final byte COLOR = 0, FONT = 1, TRANSLATE = 2, SAVE = 3, RESTORE = 4, PAINT_MODE = 5, XOR_MODE = 6,
+			CLIP_RECT = 7, SET_CLIP = 8, COPY_AREA = 9, LINE = 10, FILL_RECT = 11, CLEAR_RECT = 12,
+			DRAW_ROUND_RECT = 13, FILL_ROUND_RECT = 14, DRAW_OVAL = 15, FILL_OVAL = 16, DRAW_ARC = 17, FILL_ARC = 18,
+			POLYLINE = 19, DRAW_POLYGON = 20, FILL_POLYGON = 21, STRING = 22, ATTRIBUTED_STRING = 23,
+			IMAGE = 24, IMAGE_SCALED = 25, IMAGE_REGION = 26;
+
+	/** Recorded command codes. */
+	private byte[] commands = new byte[256];
+
+	/** Integer arguments of the commands, in order. */
+	private int[] ints = new int[1024];
+
+	/** Object arguments of the commands, in order. */
+	private Object[] objects = new Object[256];
+
+	/** Number of recorded commands. */
+	private int commandCount = 0;
+
+	/** Number of integer arguments. */
+	private int intCount = 0;
+
+	/** Number of object arguments. */
+	private int objectCount = 0;
+
+	/** Color reported before any color is set. */
+	private static final Color DEFAULT_COLOR = Color.BLACK;
+
+	/** Font reported before any font is set. */
+	private static final Font DEFAULT_FONT = new Font(Font.DIALOG, Font.PLAIN, 12);
+
+	/** Current color, or null if none was set since the last reset. */
+	private Color color;
+
+	/** Current font, or null if none was set since the last reset. */
+	private Font font;
+
+	/** States saved by {@link #create()}, holding a color and a font each. */
+	private final ArrayDeque<Object[]> saved = new ArrayDeque<>();
+
+	/** Context used to measure fonts. */
+	private static final Graphics METRICS = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+	/**
+	 * Drops every recorded command, keeping the grown arrays.
+	 */
+	public void reset() {
+		Arrays.fill(objects, 0, objectCount, null);
+		commandCount = 0;
+		intCount = 0;
+		objectCount = 0;
+		saved.clear();
+		color = null;
+		font = null;
+	}
+
+	/**
+	 * Gets the number of recorded commands.
+	 *
+	 * @return The number of commands
+	 */
+	public int size() {
+		return commandCount;
+	}
+
+	/**
+	 * Draws every recorded command onto a Graphics context.
+	 * The state of the context is restored afterward.
+	 *
+	 * @param target The context to draw to
+	 */
+	public void replay(Graphics target) {
+		ArrayDeque<Graphics> stack = new ArrayDeque<>();
+		Graphics g = target.create();
+		int n = 0, o = 0;
+		for(int c = 0; c < commandCount; c++) {
+			switch(commands[c]) {
+				case COLOR -> g.setColor((Color) objects[o++]);
+				case FONT -> g.setFont((Font) objects[o++]);
+				case TRANSLATE -> g.translate(ints[n++], ints[n++]);
+				case SAVE -> {
+					stack.push(g);
+					g = g.create();
+				}
+				case RESTORE -> {
+					g.dispose();
+					g = stack.pop();
+				}
+				case PAINT_MODE -> g.setPaintMode();
+				case XOR_MODE -> g.setXORMode((Color) objects[o++]);
+				case CLIP_RECT -> g.clipRect(ints[n++], ints[n++], ints[n++], ints[n++]);
+				case SET_CLIP -> g.setClip((Shape) objects[o++]);
+				case COPY_AREA -> g.copyArea(ints[n++], ints[n++], ints[n++], ints[n++], ints[n++], ints[n++]);
+				case LINE -> g.drawLine(ints[n++], ints[n++], ints[n++], ints[n++]);
+				case FILL_RECT -> g.fillRect(ints[n++], ints[n++], ints[n++], ints[n++]);
+				case CLEAR_RECT -> g.clearRect(ints[n++], ints[n++], ints[n++], ints[n++]);
+				case DRAW_ROUND_RECT -> g.drawRoundRect(ints[n++], ints[n++], ints[n++], ints[n++], ints[n++], ints[n++]);
+				case FILL_ROUND_RECT -> g.fillRoundRect(ints[n++], ints[n++], ints[n++], ints[n++], ints[n++], ints[n++]);
+				case DRAW_OVAL -> g.drawOval(ints[n++], ints[n++], ints[n++], ints[n++]);
+				case FILL_OVAL -> g.fillOval(ints[n++], ints[n++], ints[n++], ints[n++]);
+				case DRAW_ARC -> g.drawArc(ints[n++], ints[n++], ints[n++], ints[n++], ints[n++], ints[n++]);
+				case FILL_ARC -> g.fillArc(ints[n++], ints[n++], ints[n++], ints[n++], ints[n++], ints[n++]);
+				case POLYLINE -> g.drawPolyline((int[]) objects[o++], (int[]) objects[o++], ints[n++]);
+				case DRAW_POLYGON -> g.drawPolygon((int[]) objects[o++], (int[]) objects[o++], ints[n++]);
+				case FILL_POLYGON -> g.fillPolygon((int[]) objects[o++], (int[]) objects[o++], ints[n++]);
+				case STRING -> g.drawString((String) objects[o++], ints[n++], ints[n++]);
+				case ATTRIBUTED_STRING -> g.drawString(((AttributedString) objects[o++]).getIterator(), ints[n++], ints[n++]);
+				case IMAGE -> g.drawImage((Image) objects[o++], ints[n++], ints[n++], (Color) objects[o++], null);
+				case IMAGE_SCALED -> g.drawImage((Image) objects[o++], ints[n++], ints[n++], ints[n++], ints[n++], (Color) objects[o++], null);
+				case IMAGE_REGION -> g.drawImage((Image) objects[o++], ints[n++], ints[n++], ints[n++], ints[n++],
+						ints[n++], ints[n++], ints[n++], ints[n++], (Color) objects[o++], null);
+			}
+		}
+		while(!stack.isEmpty()) {
+			g.dispose();
+			g = stack.pop();
+		}
+		g.dispose();
+	}
+
+	/**
+	 * Records a command code.
+	 *
+	 * @param command The command code
+	 */
+	private void command(byte command) {
+		if(commandCount == commands.length) commands = Arrays.copyOf(commands, commandCount * 2);
+		commands[commandCount++] = command;
+	}
+
+	/**
+	 * Records an integer argument.
+	 *
+	 * @param value The argument
+	 */
+	private void arg(int value) {
+		if(intCount == ints.length) ints = Arrays.copyOf(ints, intCount * 2);
+		ints[intCount++] = value;
+	}
+
+	/**
+	 * Records an object argument.
+	 *
+	 * @param value The argument
+	 */
+	private void arg(Object value) {
+		if(objectCount == objects.length) objects = Arrays.copyOf(objects, objectCount * 2);
+		objects[objectCount++] = value;
+	}
+
+	/**
+	 * Records a command with four integer arguments.
+	 *
+	 * @param command The command code
+	 * @param a First argument
+	 * @param b Second argument
+	 * @param c Third argument
+	 * @param d Fourth argument
+	 */
+	private void record(byte command, int a, int b, int c, int d) {
+		command(command);
+		arg(a);
+		arg(b);
+		arg(c);
+		arg(d);
+	}
+
+	/**
+	 * Records a command with six integer arguments.
+	 *
+	 * @param command The command code
+	 * @param a First argument
+	 * @param b Second argument
+	 * @param c Third argument
+	 * @param d Fourth argument
+	 * @param e Fifth argument
+	 * @param f Sixth argument
+	 */
+	private void record(byte command, int a, int b, int c, int d, int e, int f) {
+		record(command, a, b, c, d);
+		arg(e);
+		arg(f);
+	}
+
+	@Override
+	public Graphics create() {
+		command(SAVE);
+		saved.push(new Object[] {color, font});
+		return this;
+	}
+
+	@Override
+	public void dispose() {
+		if(saved.isEmpty()) return;
+		command(RESTORE);
+		Object[] state = saved.pop();
+		color = (Color) state[0];
+		font = (Font) state[1];
+	}
+
+	@Override
+	public void translate(int x, int y) {
+		command(TRANSLATE);
+		arg(x);
+		arg(y);
+	}
+
+	@Override
+	public Color getColor() {
+		return color == null ? DEFAULT_COLOR : color;
+	}
+
+	@Override
+	public void setColor(Color c) {
+		if(c == null || c.equals(color)) return;
+		color = c;
+		command(COLOR);
+		arg(c);
+	}
+
+	@Override
+	public void setPaintMode() {
+		command(PAINT_MODE);
+	}
+
+	@Override
+	public void setXORMode(Color c1) {
+		command(XOR_MODE);
+		arg(c1);
+	}
+
+	@Override
+	public Font getFont() {
+		return font == null ? DEFAULT_FONT : font;
+	}
+
+	@Override
+	public void setFont(Font font) {
+		if(font == null || font.equals(this.font)) return;
+		this.font = font;
+		command(FONT);
+		arg(font);
+	}
+
+	@Override
+	public FontMetrics getFontMetrics(Font f) {
+		return METRICS.getFontMetrics(f);
+	}
+
+	@Override
+	public Rectangle getClipBounds() {
+		return null;
+	}
+
+	@Override
+	public void clipRect(int x, int y, int width, int height) {
+		record(CLIP_RECT, x, y, width, height);
+	}
+
+	@Override
+	public void setClip(int x, int y, int width, int height) {
+		setClip(new Rectangle(x, y, width, height));
+	}
+
+	@Override
+	public Shape getClip() {
+		return null;
+	}
+
+	@Override
+	public void setClip(Shape clip) {
+		command(SET_CLIP);
+		arg(clip instanceof Rectangle r ? new Rectangle(r) : clip);
+	}
+
+	@Override
+	public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+		record(COPY_AREA, x, y, width, height, dx, dy);
+	}
+
+	@Override
+	public void drawLine(int x1, int y1, int x2, int y2) {
+		record(LINE, x1, y1, x2, y2);
+	}
+
+	@Override
+	public void fillRect(int x, int y, int width, int height) {
+		record(FILL_RECT, x, y, width, height);
+	}
+
+	@Override
+	public void clearRect(int x, int y, int width, int height) {
+		record(CLEAR_RECT, x, y, width, height);
+	}
+
+	@Override
+	public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+		record(DRAW_ROUND_RECT, x, y, width, height, arcWidth, arcHeight);
+	}
+
+	@Override
+	public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+		record(FILL_ROUND_RECT, x, y, width, height, arcWidth, arcHeight);
+	}
+
+	@Override
+	public void drawOval(int x, int y, int width, int height) {
+		record(DRAW_OVAL, x, y, width, height);
+	}
+
+	@Override
+	public void fillOval(int x, int y, int width, int height) {
+		record(FILL_OVAL, x, y, width, height);
+	}
+
+	@Override
+	public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+		record(DRAW_ARC, x, y, width, height, startAngle, arcAngle);
+	}
+
+	@Override
+	public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+		record(FILL_ARC, x, y, width, height, startAngle, arcAngle);
+	}
+
+	@Override
+	public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+		polygon(POLYLINE, xPoints, yPoints, nPoints);
+	}
+
+	@Override
+	public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+		polygon(DRAW_POLYGON, xPoints, yPoints, nPoints);
+	}
+
+	@Override
+	public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+		polygon(FILL_POLYGON, xPoints, yPoints, nPoints);
+	}
+
+	/**
+	 * Records a polygon command, copying its points.
+	 *
+	 * @param command The command code
+	 * @param xPoints X coordinates of the points
+	 * @param yPoints Y coordinates of the points
+	 * @param nPoints Number of points
+	 */
+	private void polygon(byte command, int[] xPoints, int[] yPoints, int nPoints) {
+		command(command);
+		arg(Arrays.copyOf(xPoints, nPoints));
+		arg(Arrays.copyOf(yPoints, nPoints));
+		arg(nPoints);
+	}
+
+	@Override
+	public void drawString(String str, int x, int y) {
+		command(STRING);
+		arg(str);
+		arg(x);
+		arg(y);
+	}
+
+	@Override
+	public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+		command(ATTRIBUTED_STRING);
+		arg(new AttributedString(iterator));
+		arg(x);
+		arg(y);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+		return drawImage(img, x, y, null, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+		return drawImage(img, x, y, width, height, null, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+		if(img == null) return true;
+		command(IMAGE);
+		arg(img);
+		arg(x);
+		arg(y);
+		arg(bgcolor);
+		return true;
+	}
+
+	@Override
+	public boolean drawImage(Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+		if(img == null) return true;
+		command(IMAGE_SCALED);
+		arg(img);
+		arg(x);
+		arg(y);
+		arg(width);
+		arg(height);
+		arg(bgcolor);
+		return true;
+	}
+
+	@Override
+	public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+		return drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null, observer);
+	}
+
+	@Override
+	public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, Color bgcolor, ImageObserver observer) {
+		if(img == null) return true;
+		command(IMAGE_REGION);
+		arg(img);
+		arg(dx1);
+		arg(dy1);
+		arg(dx2);
+		arg(dy2);
+		arg(sx1);
+		arg(sy1);
+		arg(sx2);
+		arg(sy2);
+		arg(bgcolor);
+		return true;
+	}
+}
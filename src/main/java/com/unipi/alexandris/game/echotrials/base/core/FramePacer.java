@@ -0,0 +1,167 @@
+package com.unipi.alexandris.game.echotrials.base.core;
+
+import java.awt.*;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The FramePacer class caps how often the game loop renders and puts the loop thread to sleep between frames.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Render caps of a fixed rate, the refresh rate of the monitor, or no cap at all</li>
+ *   <li>Waiting for a deadline by parking the thread, spinning only for the final sub-millisecond</li>
+ *   <li>Tracking the frame-time jitter: how far each frame interval strays from the target interval</li>
+ * </ul>
+ * Frames are scheduled on a fixed cadence; a frame that is more than one interval late restarts the cadence.
+ */
+public class FramePacer {
+
+	/** Render rate meaning that frames are not capped. */
+	public static final int UNLIMITED = 0;
+
+	/** Render rate used when the refresh rate of the monitor is unknown. */
+	public static final int DEFAULT_RATE = 60;
+
+	/** Time before a deadline from which the thread spins instead of parking, in nanoseconds. */
+	private static final long SPIN_NANOS = 1_000_000L;
+
+	/** Interval between frames in nanoseconds, or 0 if frames are not capped. */
+	private final long frameNanos;
+
+	/** Time the next frame is due. */
+	private long nextFrame;
+
+	/** Start of the last frame, or 0 if no frame was rendered yet. */
+	private long lastFrame = 0;
+
+	/** Moving average of the frame intervals in nanoseconds. */
+	private double averageInterval = 0;
+
+	/** Moving average of the frame jitter in nanoseconds. */
+	private double averageJitter = 0;
+
+	/** Largest frame jitter since it was last taken, in nanoseconds. */
+	private long maxJitter = 0;
+
+	/**
+	 * Constructs a new FramePacer.
+	 *
+	 * @param rate Frames per second, or {@link #UNLIMITED}
+	 */
+	public FramePacer(int rate) {
+		this.frameNanos = rate > 0 ? 1_000_000_000L / rate : 0;
+		this.nextFrame = System.nanoTime();
+	}
+
+	/**
+	 * Parses a render cap: "monitor" for the refresh rate of the monitor, "unlimited" for no cap,
+	 * or a number of frames per second.
+	 *
+	 * @param value The render cap
+	 * @return Frames per second, or {@link #UNLIMITED}
+	 */
+	public static int parseRate(String value) {
+		if(value.equalsIgnoreCase("monitor")) return monitorRate();
+		if(value.equalsIgnoreCase("unlimited")) return UNLIMITED;
+		try {
+			return Math.max(UNLIMITED, Integer.parseInt(value));
+		}
+		catch(NumberFormatException e) {
+			System.out.println("[WARNING]: Unknown render cap \"" + value + "\", using the monitor refresh rate.");
+			return monitorRate();
+		}
+	}
+
+	/**
+	 * Gets the refresh rate of the default monitor.
+	 *
+	 * @return The refresh rate, or {@link #DEFAULT_RATE} if it is unknown or there is no display
+	 */
+	public static int monitorRate() {
+		if(GraphicsEnvironment.isHeadless()) return DEFAULT_RATE;
+		int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+		return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_RATE : rate;
+	}
+
+	/**
+	 * Waits until a deadline. The thread is parked until shortly before it and spins for the rest,
+	 * since parking alone may overshoot by a good part of a millisecond.
+	 *
+	 * @param deadline The deadline, as a {@link System#nanoTime()} value
+	 */
+	public static void waitUntil(long deadline) {
+		long remaining;
+		while((remaining = deadline - System.nanoTime()) > SPIN_NANOS) {
+			LockSupport.parkNanos(remaining - SPIN_NANOS);
+		}
+		while(deadline - System.nanoTime() > 0) {
+			Thread.onSpinWait();
+		}
+	}
+
+	/**
+	 * Checks whether frames are not capped.
+	 *
+	 * @return true if every loop iteration renders, false otherwise
+	 */
+	public boolean isUnlimited() {
+		return frameNanos == 0;
+	}
+
+	/**
+	 * Checks whether a frame is due.
+	 *
+	 * @param now The current time
+	 * @return true if a frame should be rendered, false otherwise
+	 */
+	public boolean isFrameDue(long now) {
+		return frameNanos == 0 || now - nextFrame >= 0;
+	}
+
+	/**
+	 * Gets the time the next frame is due.
+	 *
+	 * @return The time of the next frame, as a {@link System#nanoTime()} value
+	 */
+	public long getNextFrame() {
+		return nextFrame;
+	}
+
+	/**
+	 * Records a rendered frame, measuring its jitter and scheduling the next frame.
+	 * Without a cap, the jitter is measured against the average interval.
+	 *
+	 * @param start The time the frame started
+	 */
+	public void frameRendered(long start) {
+		if(lastFrame != 0) {
+			long interval = start - lastFrame;
+			averageInterval += (interval - averageInterval) / 16;
+			long jitter = Math.abs(interval - (frameNanos > 0 ? frameNanos : (long) averageInterval));
+			averageJitter += (jitter - averageJitter) / 16;
+			maxJitter = Math.max(maxJitter, jitter);
+		}
+		lastFrame = start;
+		nextFrame += frameNanos;
+		if(nextFrame - start <= 0) nextFrame = start + frameNanos;
+	}
+
+	/**
+	 * Gets the moving average of the frame jitter.
+	 *
+	 * @return The average jitter in nanoseconds
+	 */
+	public double getAverageJitter() {
+		return averageJitter;
+	}
+
+	/**
+	 * Gets the largest frame jitter since the last call, and resets it.
+	 *
+	 * @return The largest jitter in nanoseconds
+	 */
+	public long takeMaxJitter() {
+		long jitter = maxJitter;
+		maxJitter = 0;
+		return jitter;
+	}
+}
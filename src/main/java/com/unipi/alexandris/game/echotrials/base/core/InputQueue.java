@@ -0,0 +1,91 @@
+package com.unipi.alexandris.game.echotrials.base.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The InputQueue class passes timestamped input events from one producer thread to one consumer thread without locks.
+ * It provides functionality for:
+ * <ul>
+ *   <li>A fixed ring of events, each a timestamp and an int, so offering and taking never allocate</li>
+ *   <li>Offering events in O(1) without waiting: an event that does not fit is refused, not blocked on</li>
+ *   <li>Peeking at the time of the oldest event, so the consumer can take only the events due by a given time</li>
+ * </ul>
+ * The producer alone advances the tail and the consumer alone the head; each publishes its slots to the other
+ * with an ordered write, which is all a single-producer, single-consumer ring needs.
+ */
+public class InputQueue {
+
+	/** Timestamps of the events, in nanoseconds. */
+	private final long[] times;
+
+	/** Values of the events. */
+	private final int[] values;
+
+	/** Mask turning a position into a slot of the ring. */
+	private final int mask;
+
+	/** Position of the next event to take, advanced by the consumer. */
+	private final AtomicLong head = new AtomicLong();
+
+	/** Position of the next event to offer, advanced by the producer. */
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * Constructs a new InputQueue.
+	 *
+	 * @param capacity The number of events the queue holds, rounded up to a power of two
+	 */
+	public InputQueue(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		this.times = new long[size];
+		this.values = new int[size];
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Adds an event to the queue. Only the producer may call this.
+	 *
+	 * @param time The time of the event, in {@link System#nanoTime()} nanoseconds
+	 * @param value The value of the event
+	 * @return true if the event was added, false if the queue is full
+	 */
+	public boolean offer(long time, int value) {
+		long position = tail.get();
+		if(position - head.get() == times.length) return false;
+		int slot = (int) position & mask;
+		times[slot] = time;
+		values[slot] = value;
+		tail.lazySet(position + 1);
+		return true;
+	}
+
+	/**
+	 * Checks whether the queue has no events. Only the consumer may rely on the answer.
+	 *
+	 * @return true if there is no event to take, false otherwise
+	 */
+	public boolean isEmpty() {
+		return head.get() == tail.get();
+	}
+
+	/**
+	 * Gets the time of the oldest event. Only the consumer may call this, and only if the queue is not empty.
+	 *
+	 * @return The time of the oldest event
+	 */
+	public long peekTime() {
+		return times[(int) head.get() & mask];
+	}
+
+	/**
+	 * Takes the oldest event. Only the consumer may call this, and only if the queue is not empty.
+	 *
+	 * @return The value of the oldest event
+	 */
+	public int poll() {
+		long position = head.get();
+		int value = values[(int) position & mask];
+		head.lazySet(position + 1);
+		return value;
+	}
+}
@@ -0,0 +1,85 @@
+package com.unipi.alexandris.game.echotrials.base.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The TripleBuffer class hands the latest value from one producer thread to one consumer thread without locks.
+ * It provides functionality for:
+ * <ul>
+ *   <li>A back buffer the producer fills and publishes</li>
+ *   <li>A front buffer the consumer reads, swapped for the newest published one when it asks for it</li>
+ *   <li>Neither side ever waiting for the other: values the consumer did not get to are overwritten</li>
+ * </ul>
+ * The third buffer sits between the two and is exchanged atomically, which is what lets a double-buffered
+ * hand-off work without the producer waiting for the consumer to finish reading.
+ *
+ * @param <T> The type of the buffers
+ */
+public class TripleBuffer<T> {
+
+	/** Flag set on the middle index when it holds a value the consumer has not taken. */
+	private static final int FRESH = 4;
+
+	/** Mask turning the middle word into a buffer index. */
+	private static final int INDEX = 3;
+
+	/** The three buffers. */
+	private final Object[] buffers = new Object[3];
+
+	/** Index of the buffer owned by the producer. */
+	private int back = 0;
+
+	/** Index of the buffer owned by the consumer. */
+	private int front = 1;
+
+	/** Index of the buffer in between, with the {@link #FRESH} flag. */
+	private final AtomicInteger middle = new AtomicInteger(2);
+
+	/**
+	 * Constructs a new TripleBuffer.
+	 *
+	 * @param factory Creates each of the three buffers
+	 */
+	public TripleBuffer(Supplier<T> factory) {
+		for(int i = 0; i < buffers.length; i++) buffers[i] = factory.get();
+	}
+
+	/**
+	 * Gets the buffer the producer fills. Only the producer may call this.
+	 *
+	 * @return The back buffer
+	 */
+	@SuppressWarnings("unchecked")
+	public T back() {
+		return (T) buffers[back];
+	}
+
+	/**
+	 * Publishes the back buffer and hands the producer a new one. Only the producer may call this.
+	 */
+	public void publish() {
+		back = middle.getAndSet(back | FRESH) & INDEX;
+	}
+
+	/**
+	 * Checks whether a value was published that the consumer has not taken.
+	 *
+	 * @return true if {@link #latest()} would return a new buffer, false otherwise
+	 */
+	public boolean isFresh() {
+		return (middle.get() & FRESH) != 0;
+	}
+
+	/**
+	 * Gets the newest published buffer. Only the consumer may call this.
+	 * If nothing was published since the last call, the same buffer is returned again.
+	 *
+	 * @return The front buffer
+	 */
+	@SuppressWarnings("unchecked")
+	public T latest() {
+		if(isFresh()) front = middle.getAndSet(front) & INDEX;
+		return (T) buffers[front];
+	}
+}
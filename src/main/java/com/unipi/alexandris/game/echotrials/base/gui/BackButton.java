@@ -2,7 +2,7 @@ package com.unipi.alexandris.game.echotrials.base.gui;
 
 import com.unipi.alexandris.game.echotrials.base.Game;
 import com.unipi.alexandris.game.echotrials.base.core.ID;
-import com.unipi.alexandris.game.echotrials.base.core.LevelID;
+import com.unipi.alexandris.game.echotrials.base.sensors.KeyInput;
 
 import java.awt.image.BufferedImage;
 
@@ -30,10 +30,10 @@ public class BackButton extends GUIButton {
      * Handles the button click event.
      * If currently in the level selector, exits the game.
      * Otherwise, returns to the level selector.
+     * The click is applied by the session on the next tick, through the {@link KeyInput#BACK} button.
      */
     @Override
     public void onClick() {
-        if(Game.currentLevel == LevelID.LEVEL_SELECTOR) Game.exit();
-        else Game.restart();
+        Game.getInput().tap(KeyInput.BACK);
     }
 }
@@ -31,14 +31,17 @@ public abstract class GUIButton {
     /** Flag indicating if the mouse button is currently pressed. */
     protected boolean mouse_pressed;
     
-    /** Flag indicating if the mouse button was clicked. */
-    protected boolean mouse_clicked;
+    /**
+     * Flag indicating if the mouse button was clicked. Set by the event dispatch thread,
+     * read and cleared by the next tick on the game thread.
+     */
+    protected volatile boolean mouse_clicked;
     
     /** Flag indicating if the mouse has moved. */
     protected boolean mouse_moved;
     
-    /** Flag indicating if the mouse is hovering over the button. */
-    protected boolean mouse_hover;
+    /** Flag indicating if the mouse is hovering over the button. Set on the game thread, read by the event dispatch thread. */
+    protected volatile boolean mouse_hover;
 
     /** The image to be displayed for this button. */
     protected final Image image;
@@ -61,16 +64,18 @@ public abstract class GUIButton {
     /**
      * Updates the button's state each game tick.
      * Handles mouse interaction and click cooldown timing.
+     * A click is consumed by the first tick after it, whether it triggers the button or not.
      */
     public void tick() {
         Point point = new Point(Game.cursorX, Game.cursorY);
         if(cooldown < 50) cooldown++;
+        boolean clicked = mouse_clicked;
+        if(clicked) mouse_clicked = false;
         if(getBounds().contains(point)) {
             mouse_hover = true;
-            if (mouse_clicked && cooldown == 50) {
+            if (clicked && cooldown == 50) {
                 cooldown = 0;
                 onClick();
-                mouse_clicked = false;
             }
         }
         else {
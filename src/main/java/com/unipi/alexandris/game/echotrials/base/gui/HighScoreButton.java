@@ -3,6 +3,7 @@ package com.unipi.alexandris.game.echotrials.base.gui;
 import com.unipi.alexandris.game.echotrials.base.Game;
 import com.unipi.alexandris.game.echotrials.base.core.ID;
 import com.unipi.alexandris.game.echotrials.base.core.LevelID;
+import com.unipi.alexandris.game.echotrials.base.sensors.KeyInput;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -30,11 +31,11 @@ public class HighScoreButton extends GUIButton {
      * Handles the button click event.
      * If clicked from the level selector, loads the high score screen.
      * Has no effect when clicked from other screens.
+     * The click is applied by the session on the next tick, through the {@link KeyInput#SCORES} button.
      */
     @Override
     public void onClick() {
-        if(Game.currentLevel == LevelID.LEVEL_SELECTOR)
-            Game.loadLevel(LevelID.LEVEL_HIGHSCORE);
+        Game.getInput().tap(KeyInput.SCORES);
     }
 
     /**
@@ -45,7 +46,7 @@ public class HighScoreButton extends GUIButton {
      */
     @Override
     public void render(Graphics g) {
-        if(Game.currentLevel == LevelID.LEVEL_SELECTOR)
+        if(Game.getSession().currentLevel == LevelID.LEVEL_SELECTOR)
             g.drawImage(image, (int)x, (int)y, size, size, null);
     }
 }
@@ -0,0 +1,108 @@
+package com.unipi.alexandris.game.echotrials.base.handlers;
+
+import com.unipi.alexandris.game.echotrials.base.roomobjects.GameObject;
+
+import java.util.Arrays;
+
+/**
+ * The CommandBuffer class queues structural changes to an entity store.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Recording additions, removals and clears in the order they were requested</li>
+ *   <li>Applying the recorded changes at once, between the phases of a tick</li>
+ * </ul>
+ * Game objects can therefore add or remove objects, or reload the level, while the store is being
+ * iterated, and the iteration always runs over the live arrays without copying them.
+ * Recording and applying are synchronized, so changes may be requested from input threads.
+ */
+public class CommandBuffer {
+
+	/** Command adding an object. */
+	private static final byte ADD = 0;
+
+	/** Command removing an object. */
+	private static final byte REMOVE = 1;
+
+	/** Command removing every object. */
+	private static final byte CLEAR = 2;
+
+	/** Initial capacity of the command arrays. */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/** Recorded commands. */
+	private byte[] commands = new byte[INITIAL_CAPACITY];
+
+	/** Objects of the recorded commands, null for clears. */
+	private GameObject[] targets = new GameObject[INITIAL_CAPACITY];
+
+	/** Number of recorded commands. */
+	private int count = 0;
+
+	/**
+	 * Records the addition of an object.
+	 *
+	 * @param object The object to add
+	 */
+	public synchronized void add(GameObject object) {
+		record(ADD, object);
+	}
+
+	/**
+	 * Records the removal of an object.
+	 *
+	 * @param object The object to remove
+	 */
+	public synchronized void remove(GameObject object) {
+		record(REMOVE, object);
+	}
+
+	/**
+	 * Records the removal of every object. Commands recorded before it are dropped, as they have no effect.
+	 */
+	public synchronized void clear() {
+		Arrays.fill(targets, 0, count, null);
+		count = 0;
+		record(CLEAR, null);
+	}
+
+	/**
+	 * Applies the recorded commands to a store in order and forgets them.
+	 *
+	 * @param store The store to change
+	 */
+	public synchronized void apply(EntityStore store) {
+		for(int i = 0; i < count; i++) {
+			switch(commands[i]) {
+				case ADD -> store.add(targets[i]);
+				case REMOVE -> store.remove(targets[i]);
+				case CLEAR -> store.clear();
+			}
+			targets[i] = null;
+		}
+		count = 0;
+	}
+
+	/**
+	 * Gets the number of recorded commands.
+	 *
+	 * @return The number of commands waiting to be applied
+	 */
+	public synchronized int size() {
+		return count;
+	}
+
+	/**
+	 * Appends a command, growing the arrays if needed.
+	 *
+	 * @param command The command
+	 * @param object The object of the command
+	 */
+	private void record(byte command, GameObject object) {
+		if(count == commands.length) {
+			commands = Arrays.copyOf(commands, count * 2);
+			targets = Arrays.copyOf(targets, count * 2);
+		}
+		commands[count] = command;
+		targets[count++] = object;
+	}
+}
@@ -0,0 +1,195 @@
+package com.unipi.alexandris.game.echotrials.base.handlers;
+
+import com.unipi.alexandris.game.echotrials.base.core.ID;
+import com.unipi.alexandris.game.echotrials.base.roomobjects.GameObject;
+
+import java.util.Arrays;
+
+/**
+ * The EntityStore class keeps the game objects of a Handler in flat arrays.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Keeping every object in insertion order, which is also the render order</li>
+ *   <li>Constant-time removal through a handle stored on each object</li>
+ *   <li>Per-ID buckets, so type-filtered lookups only visit objects of that type</li>
+ * </ul>
+ * Removed objects leave an empty slot in the ordered array, which is compacted away once enough slots are
+ * empty, so the store must not be changed while its ordered array is iterated. Buckets are unordered and
+ * use swap-remove.
+ */
+public class EntityStore {
+
+	/** Initial capacity of the ordered array and of each bucket. */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * The Handle class records where an object is kept in a store.
+	 * Every game object owns one; only the store reads or writes it.
+	 */
+	public static final class Handle {
+		/** Position in the ordered array, or -1 if the object is not stored. */
+		private int index = -1;
+
+		/** Position in the object's bucket. */
+		private int bucketIndex = -1;
+
+		/** The bucket the object was stored in. */
+		private ID bucket;
+	}
+
+	/** Objects in insertion order; removed objects leave null slots. */
+	private GameObject[] objects = new GameObject[INITIAL_CAPACITY];
+
+	/** One past the last used slot of the ordered array. */
+	private int end = 0;
+
+	/** Number of stored objects. */
+	private int size = 0;
+
+	/** Objects grouped by ID, indexed by ID ordinal. */
+	private final GameObject[][] buckets = new GameObject[ID.values().length][];
+
+	/** Number of objects in each bucket, indexed by ID ordinal. */
+	private final int[] bucketSizes = new int[ID.values().length];
+
+	/**
+	 * Constructs an empty EntityStore.
+	 */
+	public EntityStore() {
+		for(int i = 0; i < buckets.length; i++) buckets[i] = new GameObject[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Stores an object after all stored objects. Objects that are already stored are ignored.
+	 *
+	 * @param object The object to store
+	 */
+	public void add(GameObject object) {
+		Handle handle = object.getHandle();
+		if(handle.index >= 0) return;
+
+		if(end == objects.length) {
+			if(size < end) compact();
+			if(end == objects.length) objects = Arrays.copyOf(objects, objects.length * 2);
+		}
+		handle.index = end;
+		objects[end++] = object;
+		size++;
+
+		ID id = object.getId();
+		int bucket = id.ordinal();
+		if(bucketSizes[bucket] == buckets[bucket].length) buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+		handle.bucket = id;
+		handle.bucketIndex = bucketSizes[bucket];
+		buckets[bucket][bucketSizes[bucket]++] = object;
+	}
+
+	/**
+	 * Removes an object. Objects that are not stored are ignored.
+	 *
+	 * @param object The object to remove
+	 */
+	public void remove(GameObject object) {
+		Handle handle = object.getHandle();
+		if(handle.index < 0 || objects[handle.index] != object) return;
+
+		objects[handle.index] = null;
+		size--;
+
+		int bucket = handle.bucket.ordinal();
+		GameObject last = buckets[bucket][--bucketSizes[bucket]];
+		buckets[bucket][handle.bucketIndex] = last;
+		last.getHandle().bucketIndex = handle.bucketIndex;
+		buckets[bucket][bucketSizes[bucket]] = null;
+
+		handle.index = -1;
+		handle.bucketIndex = -1;
+		handle.bucket = null;
+
+		if(size < end / 2) compact();
+	}
+
+	/**
+	 * Removes every object.
+	 */
+	public void clear() {
+		for(int i = 0; i < end; i++) {
+			if(objects[i] == null) continue;
+			Handle handle = objects[i].getHandle();
+			handle.index = -1;
+			handle.bucketIndex = -1;
+			handle.bucket = null;
+			objects[i] = null;
+		}
+		for(int i = 0; i < buckets.length; i++) {
+			Arrays.fill(buckets[i], 0, bucketSizes[i], null);
+			bucketSizes[i] = 0;
+		}
+		end = 0;
+		size = 0;
+	}
+
+	/**
+	 * Gets the number of slots in use in the ordered array, including empty ones.
+	 *
+	 * @return One past the last used slot
+	 */
+	public int end() {
+		return end;
+	}
+
+	/**
+	 * Gets the object in a slot of the ordered array.
+	 *
+	 * @param slot The slot, below {@link #end()}
+	 * @return The object, or null if the slot is empty
+	 */
+	public GameObject slot(int slot) {
+		return objects[slot];
+	}
+
+	/**
+	 * Gets the number of stored objects with an ID.
+	 *
+	 * @param id The ID
+	 * @return The number of stored objects with the ID
+	 */
+	public int count(ID id) {
+		return bucketSizes[id.ordinal()];
+	}
+
+	/**
+	 * Gets a stored object with an ID.
+	 *
+	 * @param id The ID
+	 * @param index The position in the ID's bucket, below {@link #count(ID)}
+	 * @return The object
+	 */
+	public GameObject get(ID id, int index) {
+		return buckets[id.ordinal()][index];
+	}
+
+	/**
+	 * Gets the number of stored objects.
+	 *
+	 * @return The number of stored objects
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Moves the stored objects to the front of the ordered array, keeping their order.
+	 */
+	private void compact() {
+		int live = 0;
+		for(int i = 0; i < end; i++) {
+			GameObject object = objects[i];
+			if(object == null) continue;
+			object.getHandle().index = live;
+			objects[live++] = object;
+		}
+		Arrays.fill(objects, live, end, null);
+		end = live;
+	}
+}
@@ -1,163 +1,190 @@
 package com.unipi.alexandris.game.echotrials.base.handlers;
 
-import com.unipi.alexandris.game.echotrials.base.Game;
+import com.unipi.alexandris.game.echotrials.base.Session;
+import com.unipi.alexandris.game.echotrials.base.core.ID;
+import com.unipi.alexandris.game.echotrials.base.physics.ParticleSystem;
 import com.unipi.alexandris.game.echotrials.base.roomobjects.GameObject;
 import com.unipi.alexandris.game.echotrials.base.roomobjects.Player;
 import com.unipi.alexandris.game.echotrials.base.roomobjects.PortalBlock;
 
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
 
 /**
  * The Handler class manages all game objects and scheduled tasks in Echo Trials.
  * It provides functionality for:
  * <ul>
  *   <li>Managing the game object lifecycle (adding, removing, updating)</li>
+ *   <li>Looking up game objects by ID</li>
  *   <li>Scheduling and executing delayed or periodic tasks</li>
  *   <li>Rendering game objects in the correct order</li>
+ *   <li>Owning the particle system, which is updated before and drawn after the game objects</li>
  *   <li>Handling special cases for Player and PortalBlock objects</li>
  * </ul>
+ * Every handler belongs to one session, which it hands to the objects added to it.
  */
 @SuppressWarnings(value = "unused")
 public class Handler {
 
+	/** The session the handler belongs to. */
+	private final Session session;
+
+	/** Store of all active game objects. */
+	protected final EntityStore object = new EntityStore();
+	
+	/** Structural changes to the object store waiting for the end of the current phase. */
+	protected final CommandBuffer commands = new CommandBuffer();
+
+	/** Scheduled tasks and their timing information. */
+	protected final TimingWheel scheduledTasks = new TimingWheel();
+
+	/** Live particles, kept outside the object store. */
+	protected final ParticleSystem particles = new ParticleSystem();
+
 	/**
-	 * The Clock class manages timing for scheduled tasks.
-	 * It tracks periods, iterations, and delays for task execution.
+	 * Constructs a new Handler for a session.
+	 *
+	 * @param session The session the handler belongs to
 	 */
-	protected static class Clock {
-		/** The period between task executions in game ticks. */
-		private final int period;
-		
-		/** The number of times to execute the task (-1 for infinite). */
-		private final int iterations;
-		
-		/** Current tick count since last execution. */
-		private int clock;
-		
-		/** Number of completed execution cycles. */
-		private int cycles = 0;
-
-		/**
-		 * Constructs a Clock for infinite task repetition.
-		 *
-		 * @param delay Initial delay before first execution
-		 * @param period Time between executions
-		 */
-		public Clock(int delay, int period) {
-			this.period = period;
-			this.iterations = -1;
-			this.clock = -delay;
-		}
-
-		/**
-		 * Constructs a Clock with limited iterations.
-		 *
-		 * @param delay Initial delay before first execution
-		 * @param period Time between executions
-		 * @param iterations Number of times to execute (-1 for infinite)
-		 */
-		public Clock(int delay, int period, int iterations) {
-			this.period = period;
-			this.iterations = iterations;
-			this.clock = -delay;
-		}
+	public Handler(Session session) {
+		this.session = session;
 	}
 	
-	/** List of all active game objects. */
-	protected LinkedList<GameObject> object = new LinkedList<>();
-	
-	/** Map of scheduled tasks and their timing information. */
-	protected HashMap<Runnable, Clock> scheduledTasks = new HashMap<>();
-	
 	/**
 	 * Updates all game objects and executes scheduled tasks each game tick.
-	 * Handles task scheduling, iteration counting, and safe object updates.
+	 * Structural changes requested by tasks or objects are applied after each phase.
+	 * Particles advance first, so particles spawned during this tick are drawn at their spawn point.
+	 * Every object remembers its position before anything moves it, so rendering can interpolate.
 	 */
 	public void tick() {
-		try {
-			for (Runnable task : new ArrayList<>(scheduledTasks.keySet())) {
-					Clock clock = scheduledTasks.get(task);
-					if (clock.clock++ >= clock.period) {
-						if (clock.iterations > -1 && ++clock.cycles > clock.iterations) scheduledTasks.remove(task);
-						if (scheduledTasks.containsKey(task)) {
-							task.run();
-							clock.clock = 0;
-						}
-					}
-			}
-
-			for (GameObject tempObject : new ArrayList<>(object)) {
-				tempObject.tick();
-			}
+		for (int i = 0, end = object.end(); i < end; i++) {
+			GameObject tempObject = object.slot(i);
+			if (tempObject != null) tempObject.savePosition();
 		}
-		catch (ArrayIndexOutOfBoundsException | NullPointerException ignored) {
-			System.out.println("[WARNING] Fast level exit has caused a minor exception.");
+		particles.tick();
+		commands.apply(object);
+		scheduledTasks.tick();
+		commands.apply(object);
+
+		for (int i = 0, end = object.end(); i < end; i++) {
+			GameObject tempObject = object.slot(i);
+			if (tempObject != null) tempObject.tick();
 		}
+		commands.apply(object);
 	}
 	
 	/**
-	 * Renders all game objects in their current state.
-	 * Uses a safe copy of the object list to prevent concurrent modification.
+	 * Renders all game objects in their current state, followed by the particles.
+	 * Structural changes requested while rendering are applied afterward.
 	 *
 	 * @param g The Graphics context to render to
 	 */
 	public void render(Graphics g) {
-		try {
-			for (GameObject tempObject : new ArrayList<>(object)) {
-				tempObject.render(g);
-			}
-		}
-		catch (ArrayIndexOutOfBoundsException ignored) {
-			System.out.println("[WARNING] Fast level exit has caused a minor exception.");
+		render(g, 1);
+	}
+
+	/**
+	 * Renders all game objects and particles between their previous and current tick.
+	 * Structural changes requested while rendering are applied afterward.
+	 *
+	 * @param g The Graphics context to render to
+	 * @param alpha Time elapsed since the current tick, as a fraction of a tick
+	 */
+	public void render(Graphics g, double alpha) {
+		for (int i = 0, end = object.end(); i < end; i++) {
+			GameObject tempObject = object.slot(i);
+			if (tempObject != null) tempObject.render(g, alpha);
 		}
+		particles.render(g, alpha);
+		commands.apply(object);
 	}
 	
 	/**
 	 * Adds a new game object to the handler.
 	 * Handles special cases for Player and PortalBlock objects,
-	 * ensuring only one instance of each exists.
+	 * ensuring only one instance of each exists. These are published in the session at once,
+	 * as is the session to the object, while the object itself joins the handler at the end of the current phase.
 	 *
 	 * @param object The GameObject to add
 	 */
 	public void addObject(GameObject object) {
 		if(object instanceof Player player) {
-			if(Game.player != null) return;
-			Game.player = player;
+			if(session.player != null) return;
+			session.player = player;
 		}
 		if(object instanceof PortalBlock goal) {
-			Game.goal = goal;
+			session.goal = goal;
 		}
-		this.object.add(object);
+		object.setSession(session);
+		commands.add(object);
 	}
 	
 	/**
-	 * Removes a game object from the handler.
+	 * Removes a game object from the handler at the end of the current phase, in constant time.
 	 *
 	 * @param object The GameObject to remove
 	 */
 	public void removeObject(GameObject object) {
-		this.object.remove(object);
+		commands.remove(object);
 	}
 
 	/**
-	 * Clears all game objects and scheduled tasks.
-	 * Used when resetting or changing levels.
+	 * Clears all game objects, particles and scheduled tasks.
+	 * Used when resetting or changing levels. Scheduled tasks and particles are removed at once,
+	 * while the objects leave the handler at the end of the current phase.
 	 */
 	public void clear() {
 		this.scheduledTasks.clear();
-		this.object.clear();
+		particles.clear();
+		commands.clear();
+	}
+
+	/**
+	 * Gets the number of active game objects with an ID.
+	 *
+	 * @param id The ID of the objects
+	 * @return The number of active objects with the ID
+	 */
+	public int count(ID id) {
+		return object.count(id);
+	}
+
+	/**
+	 * Gets an active game object with an ID.
+	 * Objects of one ID are kept in no particular order.
+	 *
+	 * @param id The ID of the object
+	 * @param index The index of the object, below {@link #count(ID)}
+	 * @return The game object
+	 */
+	public GameObject get(ID id, int index) {
+		return object.get(id, index);
 	}
 
 	/**
-	 * Gets the list of all active game objects.
+	 * Checks whether the handler holds no game objects.
 	 *
-	 * @return LinkedList containing all game objects
+	 * @return true if there are no active game objects, false otherwise
 	 */
-	public LinkedList<GameObject> getObject() {
-		return object;
+	public boolean isEmpty() {
+		return object.size() == 0;
+	}
+
+	/**
+	 * Gets the session the handler belongs to.
+	 *
+	 * @return The session
+	 */
+	public Session getSession() {
+		return session;
+	}
+
+	/**
+	 * Gets the particle system of the handler.
+	 *
+	 * @return The particle system
+	 */
+	public ParticleSystem getParticles() {
+		return particles;
 	}
 
 	/**
@@ -168,6 +195,28 @@ public class Handler {
 	 * @param ticks Number of game ticks to wait before execution
 	 */
 	public void runLater(Runnable runnable, int ticks) {
-		scheduledTasks.put(runnable, new Clock(ticks, 0, 1));
+		scheduledTasks.schedule(runnable, ticks, 0, 1);
+	}
+
+	/**
+	 * Schedules a task with a delay, a period and a number of iterations.
+	 * Scheduling a task that is already scheduled replaces its timing.
+	 *
+	 * @param runnable The task to execute
+	 * @param delay Initial delay before first execution
+	 * @param period Time between executions
+	 * @param iterations Number of times to execute (-1 for infinite)
+	 */
+	void schedule(Runnable runnable, int delay, int period, int iterations) {
+		scheduledTasks.schedule(runnable, delay, period, iterations);
+	}
+
+	/**
+	 * Cancels a scheduled task.
+	 *
+	 * @param runnable The task to cancel
+	 */
+	void cancel(Runnable runnable) {
+		scheduledTasks.cancel(runnable);
 	}
 }
@@ -0,0 +1,208 @@
+package com.unipi.alexandris.game.echotrials.base.handlers;
+
+import java.util.HashMap;
+
+/**
+ * The TimingWheel class schedules delayed and periodic tasks in game ticks.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Scheduling and cancelling tasks in constant time</li>
+ *   <li>Running due tasks without copying any collection per tick</li>
+ *   <li>A deterministic execution order: tasks due on the same tick run in the order they were (re)scheduled</li>
+ * </ul>
+ * Tasks are kept in a hashed wheel of slots, each holding an intrusive list of the tasks whose deadline
+ * falls on that slot. A tick only visits the slot of the current tick.
+ * <p>
+ * Timing follows the handler's clock semantics: a task scheduled with a delay and a period first runs
+ * delay + period + 1 ticks after it was scheduled and then every period + 1 ticks. A task with a
+ * non-negative iteration count runs that many times; it is removed on the following due tick.
+ * Scheduling a task that is already scheduled replaces its timing.
+ */
+public class TimingWheel {
+
+	/** Number of slots in the wheel, a power of two. */
+	private static final int SLOTS = 512;
+
+	/** Mask turning a tick into a slot index. */
+	private static final int MASK = SLOTS - 1;
+
+	/**
+	 * The Entry class is a scheduled task and its timing, linked into the list of its slot.
+	 */
+	private static final class Entry {
+		/** The scheduled task. */
+		private final Runnable task;
+
+		/** The period between task executions in game ticks. */
+		private final int period;
+
+		/** The number of times to execute the task (-1 for infinite). */
+		private final int iterations;
+
+		/** Number of due ticks reached so far. */
+		private int cycles = 0;
+
+		/** Tick on which the task is next due. */
+		private long deadline;
+
+		/** Neighbours in the list the entry is linked into. */
+		private Entry prev = this, next = this;
+
+		/**
+		 * Constructs a list head, which holds no task.
+		 */
+		private Entry() {
+			this(null, 0, 0);
+		}
+
+		/**
+		 * Constructs an unlinked entry.
+		 *
+		 * @param task The scheduled task
+		 * @param period Time between executions
+		 * @param iterations Number of times to execute (-1 for infinite)
+		 */
+		private Entry(Runnable task, int period, int iterations) {
+			this.task = task;
+			this.period = period;
+			this.iterations = iterations;
+		}
+
+		/**
+		 * Links this entry at the tail of a list.
+		 *
+		 * @param head The head of the list
+		 */
+		private void linkBefore(Entry head) {
+			prev = head.prev;
+			next = head;
+			head.prev.next = this;
+			head.prev = this;
+		}
+
+		/**
+		 * Removes this entry from the list it is linked into.
+		 */
+		private void unlink() {
+			prev.next = next;
+			next.prev = prev;
+			prev = this;
+			next = this;
+		}
+	}
+
+	/** Heads of the slot lists. */
+	private final Entry[] slots = new Entry[SLOTS];
+
+	/** Head of the list of entries taken out of the current slot and not yet processed. */
+	private final Entry pending = new Entry();
+
+	/** Scheduled entries keyed by task, used for cancelling and rescheduling. */
+	private final HashMap<Runnable, Entry> entries = new HashMap<>();
+
+	/** Number of ticks processed so far. */
+	private long tick = 0;
+
+	/**
+	 * Constructs an empty TimingWheel.
+	 */
+	public TimingWheel() {
+		for(int i = 0; i < SLOTS; i++) slots[i] = new Entry();
+	}
+
+	/**
+	 * Schedules a task, replacing its timing if it is already scheduled.
+	 *
+	 * @param task The task to execute
+	 * @param delay Initial delay before first execution
+	 * @param period Time between executions
+	 * @param iterations Number of times to execute (-1 for infinite)
+	 */
+	public void schedule(Runnable task, int delay, int period, int iterations) {
+		cancel(task);
+		Entry entry = new Entry(task, period, iterations);
+		entry.deadline = tick + Math.max(0, delay + period) + 1;
+		entry.linkBefore(slots[(int) (entry.deadline & MASK)]);
+		entries.put(task, entry);
+	}
+
+	/**
+	 * Cancels a scheduled task. Cancelling a task that is not scheduled does nothing.
+	 *
+	 * @param task The task to cancel
+	 */
+	public void cancel(Runnable task) {
+		Entry entry = entries.remove(task);
+		if(entry != null) entry.unlink();
+	}
+
+	/**
+	 * Tests whether a task is scheduled.
+	 *
+	 * @param task The task to look for
+	 * @return true if the task is scheduled, false otherwise
+	 */
+	public boolean isScheduled(Runnable task) {
+		return entries.containsKey(task);
+	}
+
+	/**
+	 * Advances the wheel by one tick and runs the tasks due on it.
+	 * Tasks may schedule, cancel or clear tasks while they run.
+	 */
+	public void tick() {
+		tick++;
+		Entry slot = slots[(int) (tick & MASK)];
+		if(slot.next == slot) return;
+
+		// Move the whole slot to the pending list, so running tasks can freely relink entries.
+		pending.next = slot.next;
+		pending.prev = slot.prev;
+		pending.next.prev = pending;
+		pending.prev.next = pending;
+		slot.next = slot;
+		slot.prev = slot;
+
+		while(pending.next != pending) {
+			Entry entry = pending.next;
+			entry.unlink();
+			if(entry.deadline != tick) {
+				entry.linkBefore(slot);
+				continue;
+			}
+			if(entry.iterations > -1 && ++entry.cycles > entry.iterations) {
+				entries.remove(entry.task);
+				continue;
+			}
+			entry.deadline = tick + entry.period + 1;
+			entry.linkBefore(slots[(int) (entry.deadline & MASK)]);
+			entry.task.run();
+		}
+	}
+
+	/**
+	 * Cancels every scheduled task. Safe to call from a running task.
+	 */
+	public void clear() {
+		for(Entry entry : entries.values()) {
+			entry.prev = entry;
+			entry.next = entry;
+		}
+		entries.clear();
+		for(Entry slot : slots) {
+			slot.prev = slot;
+			slot.next = slot;
+		}
+		pending.prev = pending;
+		pending.next = pending;
+	}
+
+	/**
+	 * Gets the number of scheduled tasks.
+	 *
+	 * @return The number of scheduled tasks
+	 */
+	public int size() {
+		return entries.size();
+	}
+}
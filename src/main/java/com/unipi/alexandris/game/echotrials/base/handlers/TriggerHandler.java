@@ -1,6 +1,7 @@
 package com.unipi.alexandris.game.echotrials.base.handlers;
 
 import com.unipi.alexandris.game.echotrials.base.Game;
+import com.unipi.alexandris.game.echotrials.base.Session;
 import com.unipi.alexandris.game.echotrials.base.core.GameLevel;
 import com.unipi.alexandris.game.echotrials.base.core.ID;
 import com.unipi.alexandris.game.echotrials.base.core.LevelID;
@@ -30,6 +31,9 @@ public class TriggerHandler {
     /** Game object handler for managing entities */
     private final Handler handler;
 
+    /** The session the level is built in */
+    private final Session session;
+
     /**
      * Record for storing button size configuration.
      * Used to define button dimensions for different button types.
@@ -45,14 +49,60 @@ public class TriggerHandler {
     /** Maps trigger blocks to their associated actions */
     private final HashMap<TriggerBlock, Runnable> triggerActions = new HashMap<>();
 
+    /** Scheduling capability handed to the trigger and button blocks of the level */
+    private final Scheduler scheduler = new Scheduler(this);
+
+    /**
+     * Capability for scheduling trigger tasks.
+     * Only a TriggerHandler can create one, and it hands it to the trigger and button blocks it builds,
+     * so only those blocks are able to schedule trigger tasks.
+     */
+    public static final class Scheduler {
+        /** The trigger handler this capability schedules on */
+        private final TriggerHandler owner;
+
+        private Scheduler(TriggerHandler owner) {
+            this.owner = owner;
+        }
+
+        /**
+         * Schedules the action registered for a trigger block, using the block's timing.
+         * The action is scheduled at most once.
+         *
+         * @param triggerBlock The activated trigger block
+         */
+        public void scheduleTriggerTask(TriggerBlock triggerBlock) {
+            owner.scheduleTriggerTask(triggerBlock);
+        }
+
+        /**
+         * Schedules a button effect, running every third tick for 400 iterations.
+         *
+         * @param runnable The button effect
+         */
+        public void scheduleTriggerTask(Runnable runnable) {
+            owner.scheduleTriggerTask(runnable);
+        }
+
+        /**
+         * Gets the session the level of the blocks is built in.
+         *
+         * @return The session
+         */
+        public Session getSession() {
+            return owner.session;
+        }
+    }
+
     public TriggerHandler(Handler handler) {
         this.handler = handler;
+        this.session = handler.getSession();
     }
 
     public void buildLevel(List<GameObject> portalBlocks, GameLevel gameLevel) {
         switch(gameLevel.levelID()) {
             case LEVEL_SELECTOR -> {
-                Game.player.setCancelUP(true);
+                session.player.setCancelUP(true);
 
                 String[] titles = {"EXIT GAME", "SPEEDRUN", "PITS", "SPIKES", "PUSH", "ICE", "MOVEMENT", "COMING SOON", "COMING SOON", "COMING SOON", "COMING SOON", "COMING SOON"};
                 LevelID[] destinations = {LevelID.LEVEL_SELECTOR, LevelID.LEVEL_A_I, LevelID.LEVEL_A_I, LevelID.LEVEL_B_I, LevelID.LEVEL_C_I, LevelID.LEVEL_D_I, LevelID.LEVEL_E_I,
@@ -60,17 +110,17 @@ public class TriggerHandler {
 
                 int c = 0;
                 for (int[] j : gameLevel.triggerBlockCoords()) {
-                    TriggerBlock triggerBlock = new TriggerBlock(j[0], j[1], ID.TriggerBlock, 0, 1, this, 1, 1, 16, 16);
+                    TriggerBlock triggerBlock = new TriggerBlock(j[0], j[1], ID.TriggerBlock, 0, 1, scheduler, 1, 1, 16, 16);
 
                     int finalC = c;
                     Runnable runnable = () -> {
                         PortalBlock portalBlock = ((PortalBlock)portalBlocks.get(finalC));
                         portalBlock.setDestination(titles[finalC], destinations[finalC]);
 
-                        if(!Game.unlockedLevels.contains(portalBlock.getDestination().group)) portalBlock.lock();
+                        if(!session.unlockedLevels.contains(portalBlock.getDestination().group)) portalBlock.lock();
                         if(Objects.equals(portalBlock.getTitle(), "EXIT GAME")) portalBlock.unlock();
                         if(Objects.equals(portalBlock.getTitle(), "SPEEDRUN")) {
-                            if(Game.unlockedLevels.contains("SPEEDRUN")) portalBlock.unlock();
+                            if(session.unlockedLevels.contains("SPEEDRUN")) portalBlock.unlock();
                             else portalBlock.lock();
                         }
                     };
@@ -81,7 +131,7 @@ public class TriggerHandler {
                 }
             }
             case LEVEL_HIGHSCORE -> {
-                Game.player.setCancelUP(true);
+                session.player.setCancelUP(true);
 
                 String[] titles = {"EXIT GAME", "SPEEDRUN", "PITS", "SPIKES", "PUSH", "ICE", "MOVEMENT", "COMING SOON", "COMING SOON", "COMING SOON", "COMING SOON", "COMING SOON"};
                 String[] groups = {"MAIN", "MAIN", "A", "B", "C", "D", "E", "F", "G", "H", "I", "J"};
@@ -90,9 +140,9 @@ public class TriggerHandler {
                         LevelID.LEVEL_SELECTOR, LevelID.LEVEL_SELECTOR, LevelID.LEVEL_SELECTOR, LevelID.LEVEL_SELECTOR, LevelID.LEVEL_SELECTOR};
 
                 int c = 0;
-                HashMap<String, String> highScores = Game.getHighScores();
+                HashMap<String, String> highScores = session.getHighScores();
                 for (int[] j : gameLevel.triggerBlockCoords()) {
-                    TriggerBlock triggerBlock = new TriggerBlock(j[0], j[1], ID.TriggerBlock, 0, 1, this, 1, 1, 16, 16);
+                    TriggerBlock triggerBlock = new TriggerBlock(j[0], j[1], ID.TriggerBlock, 0, 1, scheduler, 1, 1, 16, 16);
 
                     int finalC = c;
                     Runnable runnable = () -> {
@@ -104,7 +154,7 @@ public class TriggerHandler {
                             portalBlock.setDestination(titles[finalC], destinations[finalC]);
                         }
                         else if(Objects.equals(titles[finalC], "SPEEDRUN")) {
-                            if (Game.unlockedLevels.contains("SPEEDRUN")) portalBlock.unlock();
+                            if (session.unlockedLevels.contains("SPEEDRUN")) portalBlock.unlock();
                             else portalBlock.lock();
                             portalBlock.setDestination(titles[finalC], destinations[finalC]);
                         }
@@ -148,7 +198,7 @@ public class TriggerHandler {
 
                 int c = 0;
                 for (int[] j : gameLevel.triggerBlockCoords()) {
-                    TriggerBlock triggerBlock = new TriggerBlock(j[0], j[1], ID.TriggerBlock, 0, 1, this, 1);
+                    TriggerBlock triggerBlock = new TriggerBlock(j[0], j[1], ID.TriggerBlock, 0, 1, scheduler, 1);
 
                     Runnable runnable = getTrapBlockRunnable(targetedTraps.get(c), c+2);
 
@@ -159,17 +209,17 @@ public class TriggerHandler {
 
                 // Register Button Blocks
                 handler.addObject(new ButtonBlock(gameLevel.buttonBlockCoords().get(0)[0], gameLevel.buttonBlockCoords().get(0)[1],
-                        ID.ButtonBlock, this,  new ButtonMovementSetting(ButtonBlock.ButtonType.SPEED, 5, 0, 1)));
+                        ID.ButtonBlock, scheduler,  new ButtonMovementSetting(ButtonBlock.ButtonType.SPEED, 5, 0, 1)));
                 handler.addObject(new ButtonBlock(gameLevel.buttonBlockCoords().get(1)[0], gameLevel.buttonBlockCoords().get(1)[1],
-                        ID.ButtonBlock, this,  new ButtonMovementSetting(ButtonBlock.ButtonType.SPEED, -5, -20, -1)));
+                        ID.ButtonBlock, scheduler,  new ButtonMovementSetting(ButtonBlock.ButtonType.SPEED, -5, -20, -1)));
                 handler.addObject(new ButtonBlock(gameLevel.buttonBlockCoords().get(2)[0], gameLevel.buttonBlockCoords().get(2)[1],
-                        ID.ButtonBlock, this, new ButtonSizeSetting(ButtonBlock.ButtonType.SIZE, 5, 5)));
+                        ID.ButtonBlock, scheduler, new ButtonSizeSetting(ButtonBlock.ButtonType.SIZE, 5, 5)));
                 handler.addObject(new ButtonBlock(gameLevel.buttonBlockCoords().get(3)[0], gameLevel.buttonBlockCoords().get(3)[1],
-                        ID.ButtonBlock, this, new ButtonMovementSetting(ButtonBlock.ButtonType.SPEED, 15, 20, 1)));
+                        ID.ButtonBlock, scheduler, new ButtonMovementSetting(ButtonBlock.ButtonType.SPEED, 15, 20, 1)));
                 handler.addObject(new ButtonBlock(gameLevel.buttonBlockCoords().get(4)[0], gameLevel.buttonBlockCoords().get(4)[1],
-                        ID.ButtonBlock, this, new ButtonMovementSetting(ButtonBlock.ButtonType.SPEED, 5, 800, 1)));
+                        ID.ButtonBlock, scheduler, new ButtonMovementSetting(ButtonBlock.ButtonType.SPEED, 5, 800, 1)));
                 handler.addObject(new ButtonBlock(gameLevel.buttonBlockCoords().get(5)[0], gameLevel.buttonBlockCoords().get(5)[1],
-                        ID.ButtonBlock, this, new ButtonMovementSetting(ButtonBlock.ButtonType.SPEED, 5, 20, 0.3)));
+                        ID.ButtonBlock, scheduler, new ButtonMovementSetting(ButtonBlock.ButtonType.SPEED, 5, 20, 0.3)));
 
             }
             case LEVEL_TEST_II -> {
@@ -189,28 +239,22 @@ public class TriggerHandler {
                     MovingBlock tempBlock = new MovingBlock(j[0], j[1], ID.MovingBlock, Game.gameImages.movingBlockImages()[0]);
                     if(c==1) {
                         tempBlock.setMovement(() -> {
-                            Game.player.removeObstructions(tempBlock.getArea());
                             tempBlock.moveY(-48);
-                            Game.player.addExtraObstructions(tempBlock.getArea());
                         });
                     }
                     else if(c==3) {
                         tempBlock.setMovement(() -> {
-                            Game.player.removeObstructions(tempBlock.getArea());
                             tempBlock.moveY(-48);
-                            Game.player.addExtraObstructions(tempBlock.getArea());
                         });
                     }
                     else {
                         tempBlock.setMovement(() -> {
-                            Game.player.removeObstructions(tempBlock.getArea());
                             tempBlock.moveY(24);
-                            Game.player.addExtraObstructions(tempBlock.getArea());
                         });
                     }
                     handler.addObject(tempBlock);
                     movingBlocks.add(tempBlock);
-                    Game.player.addExtraObstructions(tempBlock.getArea());
+                    tempBlock.solidify(session.colliders);
                     c++;
                 }
 
@@ -237,7 +281,7 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, 4, this, 1);
+                        ID.TriggerBlock, 0, 1, 4, scheduler, 1);
                 runnable = () -> {
                     for(GameObject gameObject : trap5) {
                         if(gameObject instanceof MovingBlock movingBlock) movingBlock.getMovement().run();
@@ -248,7 +292,7 @@ public class TriggerHandler {
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 0, 1, this, 1);
+                        ID.TriggerBlock, 0, 1, scheduler, 1);
 
                 runnable = getTrapBlockRunnable(trap3, 3);
 
@@ -257,7 +301,7 @@ public class TriggerHandler {
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(2)[0], gameLevel.triggerBlockCoords().get(2)[1],
-                        ID.TriggerBlock, 0, 1, this, 0,1,3,10);
+                        ID.TriggerBlock, 0, 1, scheduler, 0,1,3,10);
 
                 runnable = getTrapBlockRunnable(trap4, 4);
 
@@ -266,7 +310,7 @@ public class TriggerHandler {
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(3)[0], gameLevel.triggerBlockCoords().get(3)[1],
-                        ID.TriggerBlock, 0, 1, this, 1);
+                        ID.TriggerBlock, 0, 1, scheduler, 1);
 
                 runnable = getTrapBlockRunnable(trap1, 4);
 
@@ -275,7 +319,7 @@ public class TriggerHandler {
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(4)[0], gameLevel.triggerBlockCoords().get(4)[1],
-                        ID.TriggerBlock, 0, 1, 60, this, 0,1,3,10);
+                        ID.TriggerBlock, 0, 1, 60, scheduler, 0,1,3,10);
                 runnable = () -> {
                     for(GameObject gameObject : trap2) {
                         if(gameObject instanceof MovingBlock movingBlock) movingBlock.getMovement().run();
@@ -296,7 +340,7 @@ public class TriggerHandler {
                 // Register Trigger Blocks
 
                 TriggerBlock triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, this, 0, 4, 6, 6);
+                        ID.TriggerBlock, 0, 1, scheduler, 0, 4, 6, 6);
 
                 Runnable runnable = getTrapBlockRunnable(trapBlocks, 4);
 
@@ -324,7 +368,7 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, this, 0, 4, 6, 6);
+                        ID.TriggerBlock, 0, 1, scheduler, 0, 4, 6, 6);
 
                 runnable = getTrapBlockRunnable(trap1, 4);
 
@@ -332,7 +376,7 @@ public class TriggerHandler {
                 handler.addObject(triggerBlock);
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 0, 1, this, 0, 2, 6, 6);
+                        ID.TriggerBlock, 0, 1, scheduler, 0, 2, 6, 6);
 
                 runnable = getTrapBlockRunnable(trap2, 2);
 
@@ -355,35 +399,27 @@ public class TriggerHandler {
                     MovingBlock tempBlock = new MovingBlock(j[0], j[1], ID.MovingBlock, Game.gameImages.movingBlockImages()[0]);
                     if(c==1) {
                         tempBlock.setMovement(() -> {
-                            Game.player.removeObstructions(tempBlock.getArea());
                             tempBlock.moveY(-46);
-                            Game.player.addExtraObstructions(tempBlock.getArea());
                         });
                     }
                     else if(c==3) {
                         tempBlock.setMovement(() -> {
-                            Game.player.removeObstructions(tempBlock.getArea());
                             tempBlock.moveY(-46);
-                            Game.player.addExtraObstructions(tempBlock.getArea());
                         });
                     }
                     else if(c==5) {
                         tempBlock.setMovement(() -> {
-                            Game.player.removeObstructions(tempBlock.getArea());
                             tempBlock.moveY(-46);
-                            Game.player.addExtraObstructions(tempBlock.getArea());
                         });
                     }
                     else {
                         tempBlock.setMovement(() -> {
-                            Game.player.removeObstructions(tempBlock.getArea());
                             tempBlock.moveY(24);
-                            Game.player.addExtraObstructions(tempBlock.getArea());
                         });
                     }
                     handler.addObject(tempBlock);
                     movingBlocks.add(tempBlock);
-                    Game.player.addExtraObstructions(tempBlock.getArea());
+                    tempBlock.solidify(session.colliders);
                     c++;
                 }
 
@@ -409,21 +445,21 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, this, 0, 3, 6, 6);
+                        ID.TriggerBlock, 0, 1, scheduler, 0, 3, 6, 6);
                 runnable = getTrapBlockRunnable(trap1, 4);
                 triggerActions.put(triggerBlock, runnable);
                 handler.addObject(triggerBlock);
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 0, 1, this, 0, 3, 6, 6);
+                        ID.TriggerBlock, 0, 1, scheduler, 0, 3, 6, 6);
                 runnable = getTrapBlockRunnable(trap2, 3);
                 triggerActions.put(triggerBlock, runnable);
                 handler.addObject(triggerBlock);
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(2)[0], gameLevel.triggerBlockCoords().get(2)[1],
-                        ID.TriggerBlock, 0, 1, 30, this, 0,1,6,6);
+                        ID.TriggerBlock, 0, 1, 30, scheduler, 0,1,6,6);
                 runnable = () -> {
                     for(GameObject gameObject : trap3) {
                         if(gameObject instanceof MovingBlock movingBlock) movingBlock.getMovement().run();
@@ -434,7 +470,7 @@ public class TriggerHandler {
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(3)[0], gameLevel.triggerBlockCoords().get(3)[1],
-                        ID.TriggerBlock, 0, 1, 2, this, 0, 1, 6, 6);
+                        ID.TriggerBlock, 0, 1, 2, scheduler, 0, 1, 6, 6);
                 runnable = () -> {
                     for(GameObject gameObject : trap4) {
                         if(gameObject instanceof MovingBlock movingBlock) movingBlock.getMovement().run();
@@ -445,7 +481,7 @@ public class TriggerHandler {
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(4)[0], gameLevel.triggerBlockCoords().get(4)[1],
-                        ID.TriggerBlock, 0, 1, this, 0,1,6,6);
+                        ID.TriggerBlock, 0, 1, scheduler, 0,1,6,6);
                 runnable = getTrapBlockRunnable(trap5, 1);
                 triggerActions.put(triggerBlock, runnable);
                 handler.addObject(triggerBlock);
@@ -467,37 +503,31 @@ public class TriggerHandler {
                         ID.MovingBlock, Game.gameImages.movingBlockImages()[0]);
                 MovingBlock finalTempBlock = tempBlock;
                 tempBlock.setMovement(() -> {
-                    Game.player.removeObstructions(finalTempBlock.getArea());
                     finalTempBlock.moveY(-48);
-                    Game.player.addExtraObstructions(finalTempBlock.getArea());
                 });
                 handler.addObject(tempBlock);
                 movingBlocks.add(tempBlock);
-                Game.player.addExtraObstructions(tempBlock.getArea());
+                tempBlock.solidify(session.colliders);
 
                 tempBlock = new MovingBlock(gameLevel.movingBlockCoords().get(53)[0], gameLevel.movingBlockCoords().get(53)[1],
                         ID.MovingBlock, Game.gameImages.movingBlockImages()[0]);
                 MovingBlock finalTempBlock1 = tempBlock;
                 tempBlock.setMovement(() -> {
-                    Game.player.removeObstructions(finalTempBlock1.getArea());
                     finalTempBlock1.moveY(-48);
-                    Game.player.addExtraObstructions(finalTempBlock1.getArea());
                 });
                 handler.addObject(tempBlock);
                 movingBlocks.add(tempBlock);
-                Game.player.addExtraObstructions(tempBlock.getArea());
+                tempBlock.solidify(session.colliders);
 
                 tempBlock = new MovingBlock(gameLevel.movingBlockCoords().get(80)[0], gameLevel.movingBlockCoords().get(80)[1],
                         ID.MovingBlock, Game.gameImages.movingBlockImages()[0]);
                 MovingBlock finalTempBlock2 = tempBlock;
                 tempBlock.setMovement(() -> {
-                    Game.player.removeObstructions(finalTempBlock2.getArea());
                     finalTempBlock2.moveY(-48);
-                    Game.player.addExtraObstructions(finalTempBlock2.getArea());
                 });
                 handler.addObject(tempBlock);
                 movingBlocks.add(tempBlock);
-                Game.player.addExtraObstructions(tempBlock.getArea());
+                tempBlock.solidify(session.colliders);
 
                 for (int[] j : gameLevel.movingBlockCoords()) {
                     MovingBlock finalTempBlock3 = new MovingBlock(j[0], j[1], ID.MovingBlock, Game.gameImages.movingBlockImages()[0]);
@@ -515,14 +545,12 @@ public class TriggerHandler {
                     }
                     else {
                         finalTempBlock3.setMovement(() -> {
-                            Game.player.removeObstructions(finalTempBlock3.getArea());
                             finalTempBlock3.moveX(17);
-                            Game.player.addExtraObstructions(finalTempBlock3.getArea());
                         });
                     }
                     handler.addObject(finalTempBlock3);
                     movingBlocks.add(finalTempBlock3);
-                    Game.player.addExtraObstructions(finalTempBlock3.getArea());
+                    finalTempBlock3.solidify(session.colliders);
                     c++;
                 }
 
@@ -542,14 +570,14 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, this, 0, 3, 6, 6);
+                        ID.TriggerBlock, 0, 1, scheduler, 0, 3, 6, 6);
                 runnable = getTrapBlockRunnable(trap1, 4);
                 triggerActions.put(triggerBlock, runnable);
                 handler.addObject(triggerBlock);
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 0, 1, 170, this, 0, 0, 6, 6);
+                        ID.TriggerBlock, 0, 1, 170, scheduler, 0, 0, 6, 6);
                 runnable = () -> {
                     for(GameObject gameObject : trap2) {
                         if(gameObject instanceof MovingBlock movingBlock) movingBlock.getMovement().run();
@@ -560,7 +588,7 @@ public class TriggerHandler {
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(2)[0], gameLevel.triggerBlockCoords().get(2)[1],
-                        ID.TriggerBlock, 0, 1, 2, this, 0,1,6,6);
+                        ID.TriggerBlock, 0, 1, 2, scheduler, 0,1,6,6);
                 runnable = () -> {
                     for(GameObject gameObject : trap3) {
                         if(gameObject instanceof MovingBlock movingBlock) movingBlock.getMovement().run();
@@ -585,35 +613,29 @@ public class TriggerHandler {
                 MovingBlock finalTempBlock = new MovingBlock(gameLevel.movingBlockCoords().get(31)[0], gameLevel.movingBlockCoords().get(31)[1],
                         ID.MovingBlock, Game.gameImages.movingBlockImages()[0]);
                 finalTempBlock.setMovement(() -> {
-                    Game.player.removeObstructions(finalTempBlock.getArea());
                     finalTempBlock.moveY(-48);
-                    Game.player.addExtraObstructions(finalTempBlock.getArea());
                 });
                 handler.addObject(finalTempBlock);
                 movingBlocks.add(finalTempBlock);
-                Game.player.addExtraObstructions(finalTempBlock.getArea());
+                finalTempBlock.solidify(session.colliders);
 
                 MovingBlock finalTempBlock1 = new MovingBlock(gameLevel.movingBlockCoords().get(63)[0], gameLevel.movingBlockCoords().get(63)[1],
                         ID.MovingBlock, Game.gameImages.movingBlockImages()[0]);
                 finalTempBlock1.setMovement(() -> {
-                    Game.player.removeObstructions(finalTempBlock1.getArea());
                     finalTempBlock1.moveY(-48);
-                    Game.player.addExtraObstructions(finalTempBlock1.getArea());
                 });
                 handler.addObject(finalTempBlock1);
                 movingBlocks.add(finalTempBlock1);
-                Game.player.addExtraObstructions(finalTempBlock1.getArea());
+                finalTempBlock1.solidify(session.colliders);
 
                 MovingBlock finalTempBlock2 = new MovingBlock(gameLevel.movingBlockCoords().get(95)[0], gameLevel.movingBlockCoords().get(95)[1],
                         ID.MovingBlock, Game.gameImages.movingBlockImages()[0]);
                 finalTempBlock2.setMovement(() -> {
-                    Game.player.removeObstructions(finalTempBlock2.getArea());
                     finalTempBlock2.moveY(-48);
-                    Game.player.addExtraObstructions(finalTempBlock2.getArea());
                 });
                 handler.addObject(finalTempBlock2);
                 movingBlocks.add(finalTempBlock2);
-                Game.player.addExtraObstructions(finalTempBlock2.getArea());
+                finalTempBlock2.solidify(session.colliders);
 
                 for (int[] j : gameLevel.movingBlockCoords()) {
                     MovingBlock finalTempBlock3 = new MovingBlock(j[0], j[1], ID.MovingBlock, Game.gameImages.movingBlockImages()[0]);
@@ -631,14 +653,12 @@ public class TriggerHandler {
                     }
                     else {
                         finalTempBlock3.setMovement(() -> {
-                            Game.player.removeObstructions(finalTempBlock3.getArea());
                             finalTempBlock3.moveY(10);
-                            Game.player.addExtraObstructions(finalTempBlock3.getArea());
                         });
                     }
                     handler.addObject(finalTempBlock3);
                     movingBlocks.add(finalTempBlock3);
-                    Game.player.addExtraObstructions(finalTempBlock3.getArea());
+                    finalTempBlock3.solidify(session.colliders);
                     c++;
                 }
 
@@ -658,7 +678,7 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 150, 7, 340, this, 0, 0, 6, 6);
+                        ID.TriggerBlock, 150, 7, 340, scheduler, 0, 0, 6, 6);
                 runnable = () -> {
                     for(GameObject gameObject : trap1) {
                         if(gameObject instanceof MovingBlock movingBlock) movingBlock.getMovement().run();
@@ -669,14 +689,14 @@ public class TriggerHandler {
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 0, 1, this, 0, 1, 6, 6);
+                        ID.TriggerBlock, 0, 1, scheduler, 0, 1, 6, 6);
                 runnable = getTrapBlockRunnable(trap2, 2);
                 triggerActions.put(triggerBlock, runnable);
                 handler.addObject(triggerBlock);
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(2)[0], gameLevel.triggerBlockCoords().get(2)[1],
-                        ID.TriggerBlock, 0, 1, 2, this, 0,1,6,6);
+                        ID.TriggerBlock, 0, 1, 2, scheduler, 0,1,6,6);
                 runnable = () -> {
                     for(GameObject gameObject : trap3) {
                         if(gameObject instanceof MovingBlock movingBlock) movingBlock.getMovement().run();
@@ -699,7 +719,7 @@ public class TriggerHandler {
                 // Register Trigger Blocks
 
                 TriggerBlock triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, 6, this, 1, 0, 2, 1);
+                        ID.TriggerBlock, 0, 1, 6, scheduler, 1, 0, 2, 1);
 
                 Runnable runnable = () -> {
                     int c = 0;
@@ -727,7 +747,7 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, 5, this, -2, 3, 5, 3);
+                        ID.TriggerBlock, 0, 1, 5, scheduler, -2, 3, 5, 3);
                 runnable = () -> {
                     int c = 0;
                     for(SpikeBlock spike : spikes) {
@@ -739,7 +759,7 @@ public class TriggerHandler {
                 handler.addObject(triggerBlock);
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 0, 1, 6, this, 1, 0, 2, 1);
+                        ID.TriggerBlock, 0, 1, 6, scheduler, 1, 0, 2, 1);
                 runnable = () -> {
                     int c = 0;
                     for(SpikeBlock spike : spikes) {
@@ -772,13 +792,13 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, this, -1, 2, 5, 3);
+                        ID.TriggerBlock, 0, 1, scheduler, -1, 2, 5, 3);
                 runnable = getTrapBlockRunnable(trapBlocks, 4);
                 triggerActions.put(triggerBlock, runnable);
                 handler.addObject(triggerBlock);
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 0, 1, 5, this, 1, 0, 2, 1);
+                        ID.TriggerBlock, 0, 1, 5, scheduler, 1, 0, 2, 1);
                 runnable = () -> {
                     int c = 0;
                     for(SpikeBlock spike : spikes) {
@@ -815,7 +835,7 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, 5, this, 0, 3, 5, 3);
+                        ID.TriggerBlock, 0, 1, 5, scheduler, 0, 3, 5, 3);
                 runnable = () -> {
                     for(SpikeBlock spike : spikes) {
                         spike.moveX(+24);
@@ -825,7 +845,7 @@ public class TriggerHandler {
                 handler.addObject(triggerBlock);
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 0, 1, this, 0, 2, 5, 3);
+                        ID.TriggerBlock, 0, 1, scheduler, 0, 2, 5, 3);
 
                 runnable = getTrapBlockRunnable(trapBlocks, 2);
 
@@ -833,7 +853,7 @@ public class TriggerHandler {
                 handler.addObject(triggerBlock);
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(3)[0], gameLevel.triggerBlockCoords().get(3)[1],
-                        ID.TriggerBlock, 0, 1, 7, this, 2, 0, 3, 2);
+                        ID.TriggerBlock, 0, 1, 7, scheduler, 2, 0, 3, 2);
                 runnable = () -> {
                     for(SpikeBlock spike : spikes) {
                         spike.moveX(+24);
@@ -843,7 +863,7 @@ public class TriggerHandler {
                 handler.addObject(triggerBlock);
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(2)[0], gameLevel.triggerBlockCoords().get(2)[1],
-                        ID.TriggerBlock, 0, 1, 46, this, -1, 2, 3, 2);
+                        ID.TriggerBlock, 0, 1, 46, scheduler, -1, 2, 3, 2);
                 runnable = () -> {
                     for(SpikeBlock spike : spikes) {
                         spike.moveX(-24);
@@ -879,7 +899,7 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 6, 170, this, 1, 0, 5, 3);
+                        ID.TriggerBlock, 0, 6, 170, scheduler, 1, 0, 5, 3);
                 runnable = new Runnable() {
                     int c = 0;
                     @Override
@@ -896,13 +916,13 @@ public class TriggerHandler {
                 handler.addObject(triggerBlock);
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 0, 1, this, 0, 3, 5, 3);
+                        ID.TriggerBlock, 0, 1, scheduler, 0, 3, 5, 3);
                 runnable = getTrapBlockRunnable(trapBlocks, 4);
                 triggerActions.put(triggerBlock, runnable);
                 handler.addObject(triggerBlock);
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(2)[0], gameLevel.triggerBlockCoords().get(2)[1],
-                        ID.TriggerBlock, 0, 1, 5, this, 1, 0, 2, 1);
+                        ID.TriggerBlock, 0, 1, 5, scheduler, 1, 0, 2, 1);
                 runnable = () -> {
                     int c = 0;
                     for(SpikeBlock spike : spikes) {
@@ -932,20 +952,16 @@ public class TriggerHandler {
                     @Override
                     public void run() {
                         if(finalTempBlock.getY() > currentPos-48) {
-                            Game.player.removeObstructions(finalTempBlock.getArea());
                             finalTempBlock.moveY(-24);
-                            Game.player.addExtraObstructions(finalTempBlock.getArea());
                         }
                         else {
-                            Game.player.removeObstructions(finalTempBlock.getArea());
                             finalTempBlock.moveX(-24);
-                            Game.player.addExtraObstructions(finalTempBlock.getArea());
                         }
                     }
                 });
                 handler.addObject(finalTempBlock);
                 movingBlocks.add(finalTempBlock);
-                Game.player.addExtraObstructions(finalTempBlock.getArea());
+                finalTempBlock.solidify(session.colliders);
 
                 List<GameObject> trap1 = new ArrayList<>(new ArrayList<>(trapBlocks));
                 List<GameObject> trap2 = new ArrayList<>(new ArrayList<>(movingBlocks));
@@ -955,13 +971,13 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, this, 0, 1, 6, 6);
+                        ID.TriggerBlock, 0, 1, scheduler, 0, 1, 6, 6);
                 runnable = getTrapBlockRunnable(trap1, 4);
                 triggerActions.put(triggerBlock, runnable);
                 handler.addObject(triggerBlock);
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 0, 1, 8, this, 0, 0, 6, 6);
+                        ID.TriggerBlock, 0, 1, 8, scheduler, 0, 0, 6, 6);
                 runnable = () -> {
                     for(GameObject gameObject : trap2) {
                         if(gameObject instanceof MovingBlock movingBlock) movingBlock.getMovement().run();
@@ -989,20 +1005,16 @@ public class TriggerHandler {
                     @Override
                     public void run() {
                         if(finalTempBlock.getY() > currentPos-48) {
-                            Game.player.removeObstructions(finalTempBlock.getArea());
                             finalTempBlock.moveY(-24);
-                            Game.player.addExtraObstructions(finalTempBlock.getArea());
                         }
                         else {
-                            Game.player.removeObstructions(finalTempBlock.getArea());
                             finalTempBlock.moveX(+24);
-                            Game.player.addExtraObstructions(finalTempBlock.getArea());
                         }
                     }
                 });
                 handler.addObject(finalTempBlock);
                 movingBlocks.add(finalTempBlock);
-                Game.player.addExtraObstructions(finalTempBlock.getArea());
+                finalTempBlock.solidify(session.colliders);
 
                 List<GameObject> trap1 = new ArrayList<>(new ArrayList<>(trapBlocks));
                 List<GameObject> trap2 = new ArrayList<>(new ArrayList<>(movingBlocks));
@@ -1012,13 +1024,13 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, this, 0, 1, 6, 6);
+                        ID.TriggerBlock, 0, 1, scheduler, 0, 1, 6, 6);
                 runnable = getTrapBlockRunnable(trap1, 4);
                 triggerActions.put(triggerBlock, runnable);
                 handler.addObject(triggerBlock);
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 0, 1, 10, this, 0, 0, 6, 6);
+                        ID.TriggerBlock, 0, 1, 10, scheduler, 0, 0, 6, 6);
                 runnable = () -> {
                     for(GameObject gameObject : trap2) {
                         if(gameObject instanceof MovingBlock movingBlock) movingBlock.getMovement().run();
@@ -1045,20 +1057,16 @@ public class TriggerHandler {
                     @Override
                     public void run() {
                         if(finalTempBlock.getY() > currentPos-48) {
-                            Game.player.removeObstructions(finalTempBlock.getArea());
                             finalTempBlock.moveY(-24);
-                            Game.player.addExtraObstructions(finalTempBlock.getArea());
                         }
                         else {
-                            Game.player.removeObstructions(finalTempBlock.getArea());
                             finalTempBlock.moveX(+24);
-                            Game.player.addExtraObstructions(finalTempBlock.getArea());
                         }
                     }
                 });
                 handler.addObject(finalTempBlock);
                 movingBlocks.add(finalTempBlock);
-                Game.player.addExtraObstructions(finalTempBlock.getArea());
+                finalTempBlock.solidify(session.colliders);
 
                 List<GameObject> trap1 = new ArrayList<>(new ArrayList<>(movingBlocks));
 
@@ -1067,7 +1075,7 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, 20, this, 0, 0, 5, 3);
+                        ID.TriggerBlock, 0, 1, 20, scheduler, 0, 0, 5, 3);
                 runnable = () -> {
                     for(GameObject gameObject : trap1) {
                         if(gameObject instanceof MovingBlock movingBlock) movingBlock.getMovement().run();
@@ -1078,7 +1086,7 @@ public class TriggerHandler {
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 0, 1, 32, this, 0, 0, 2, 12);
+                        ID.TriggerBlock, 0, 1, 32, scheduler, 0, 0, 2, 12);
                 runnable = new Runnable() {
                     int iterations = 0;
                     @Override
@@ -1086,19 +1094,13 @@ public class TriggerHandler {
                         for (GameObject gameObject : trap1) {
                             if (gameObject instanceof MovingBlock movingBlock) {
                                 if(iterations > 27) {
-                                    Game.player.removeObstructions(movingBlock.getArea());
                                     movingBlock.moveY(-24);
-                                    Game.player.addExtraObstructions(movingBlock.getArea());
                                 }
                                 if(iterations >= 4 && iterations < 6) {
-                                    Game.player.removeObstructions(movingBlock.getArea());
                                     movingBlock.moveX(24);
-                                    Game.player.addExtraObstructions(movingBlock.getArea());
                                 }
                                 if(iterations < 6) {
-                                    Game.player.removeObstructions(movingBlock.getArea());
                                     movingBlock.moveY(24);
-                                    Game.player.addExtraObstructions(movingBlock.getArea());
                                 }
                                 iterations++;
                             }
@@ -1123,12 +1125,10 @@ public class TriggerHandler {
                     MovingBlock movingBlock = new MovingBlock(j[0], j[1], ID.MovingBlock, Game.gameImages.movingBlockImages()[0]);
                     movingBlocks.add(movingBlock);
                     movingBlock.setMovement(() -> {
-                        Game.player.removeObstructions(movingBlock.getArea());
                         movingBlock.moveX(-6);
-                        Game.player.addExtraObstructions(movingBlock.getArea());
                     });
                     handler.addObject(movingBlock);
-                    Game.player.addExtraObstructions(movingBlock.getArea());
+                    movingBlock.solidify(session.colliders);
                 }
 
                 // Register trigger blocks
@@ -1136,7 +1136,7 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 100, 1, 152, this, 2, 2, 6, 16);
+                        ID.TriggerBlock, 100, 1, 152, scheduler, 2, 2, 6, 16);
                 runnable = () -> {
                     for(GameObject gameObject : movingBlocks) {
                         if(gameObject instanceof MovingBlock movingBlock) movingBlock.getMovement().run();
@@ -1147,7 +1147,7 @@ public class TriggerHandler {
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 1, 1, this, 4, 1, 6, 16);
+                        ID.TriggerBlock, 1, 1, scheduler, 4, 1, 6, 16);
                 runnable = getTrapBlockRunnable(trapBlocks, 4);
                 triggerActions.put(triggerBlock, runnable);
                 handler.addObject(triggerBlock);
@@ -1163,14 +1163,12 @@ public class TriggerHandler {
                         movingBlocksGate.add(movingBlock);
                     } else {
                         movingBlock.setMovement(() -> {
-                            Game.player.removeObstructions(movingBlock.getArea());
                             movingBlock.moveX(-6);
-                            Game.player.addExtraObstructions(movingBlock.getArea());
                         });
                         movingBlocks.add(movingBlock);
                     }
                     handler.addObject(movingBlock);
-                    Game.player.addExtraObstructions(movingBlock.getArea());
+                    movingBlock.solidify(session.colliders);
                     c++;
                 }
 
@@ -1179,7 +1177,7 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 100, 1, 144, this, 2, 2, 6, 16);
+                        ID.TriggerBlock, 100, 1, 144, scheduler, 2, 2, 6, 16);
                 runnable = () -> {
                     for(GameObject gameObject : movingBlocks) {
                         if(gameObject instanceof MovingBlock movingBlock) movingBlock.getMovement().run();
@@ -1189,7 +1187,7 @@ public class TriggerHandler {
                 handler.addObject(triggerBlock);
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, 199, this, 0,1,6,6);
+                        ID.TriggerBlock, 0, 1, 199, scheduler, 0,1,6,6);
                 runnable = new Runnable() {
                     int iterations = 0;
                     @Override
@@ -1197,14 +1195,10 @@ public class TriggerHandler {
                         for (GameObject gameObject : movingBlocksGate) {
                             if (gameObject instanceof MovingBlock movingBlock) {
                                 if (iterations > 193) {
-                                    Game.player.removeObstructions(movingBlock.getArea());
                                     movingBlock.moveY(24);
-                                    Game.player.addExtraObstructions(movingBlock.getArea());
                                 }
                                 if (iterations < 18) {
-                                    Game.player.removeObstructions(movingBlock.getArea());
                                     movingBlock.moveY(-24);
-                                    Game.player.addExtraObstructions(movingBlock.getArea());
                                 }
                                 iterations++;
                             }
@@ -1232,8 +1226,8 @@ public class TriggerHandler {
                     tempBlock.switchImage();
                 }
 
-                Game.player.setCancelRIGHT(true);
-                Game.player.setCancelLEFT(true);
+                session.player.setCancelRIGHT(true);
+                session.player.setCancelLEFT(true);
 
                 // Register moving trap Blocks
                 ArrayList<GameObject> leftBlocks = new ArrayList<>();
@@ -1249,7 +1243,7 @@ public class TriggerHandler {
                         rightBlocks.add(finalTempBlock);
                     }
                     handler.addObject(finalTempBlock);
-                    Game.player.addExtraObstructions(finalTempBlock.getArea());
+                    session.colliders.add(finalTempBlock.getX(), finalTempBlock.getY(), finalTempBlock.getSize(), finalTempBlock.getSize());
                     c++;
                 }
 
@@ -1258,12 +1252,12 @@ public class TriggerHandler {
                 Runnable runnable;
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(2)[0], gameLevel.triggerBlockCoords().get(2)[1],
-                        ID.TriggerBlock, 60, 1, 2, this, 1, 1, 5, 3);
+                        ID.TriggerBlock, 60, 1, 2, scheduler, 1, 1, 5, 3);
                 runnable = () -> {
                     for(GameObject gameObject : leftBlocks) {
                         if(gameObject instanceof TrapBlock trapBlock) {
-                            Game.player.moveX(1);
-                            Game.player.setPressRIGHT(true);
+                            session.player.moveX(1);
+                            session.player.setPressRIGHT(true);
                             trapBlock.moveX(24);
                         }
                     }
@@ -1272,11 +1266,11 @@ public class TriggerHandler {
                 handler.addObject(triggerBlock);
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 60, 1, 2, this, 1, 1, 5, 3);
+                        ID.TriggerBlock, 60, 1, 2, scheduler, 1, 1, 5, 3);
                 runnable = () -> {
                     for(GameObject gameObject : rightBlocks) {
                         if(gameObject instanceof TrapBlock trapBlock) {
-                            Game.player.setPressLEFT(true);
+                            session.player.setPressLEFT(true);
                             trapBlock.moveX(-24);
                         }
                     }
@@ -1285,12 +1279,12 @@ public class TriggerHandler {
                 handler.addObject(triggerBlock);
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 40, 1, 1, this, 1, 1, 5, 3);
+                        ID.TriggerBlock, 40, 1, 1, scheduler, 1, 1, 5, 3);
                 runnable = () -> {
-                    Game.player.setPressLEFT(false);
+                    session.player.setPressLEFT(false);
 
-                    Game.player.setCancelRIGHT(true);
-                    Game.player.setCancelLEFT(true);
+                    session.player.setCancelRIGHT(true);
+                    session.player.setCancelLEFT(true);
                 };
                 triggerActions.put(triggerBlock, runnable);
                 handler.addObject(triggerBlock);
@@ -1298,8 +1292,8 @@ public class TriggerHandler {
 
             }
             case LEVEL_E_I -> {
-                Game.player.SPEED_X = -5;
-                Game.player.resetPhysics(true);
+                session.player.SPEED_X = -5;
+                session.player.resetPhysics(true);
 
 
                 // Register Spike Blocks
@@ -1310,8 +1304,8 @@ public class TriggerHandler {
                 }
             }
             case LEVEL_E_II -> {
-                Game.player.SPEED_X = -5;
-                Game.player.resetPhysics(true);
+                session.player.SPEED_X = -5;
+                session.player.resetPhysics(true);
 
                 // Register Spike Blocks
                 ArrayList<SpikeBlock> spikes = new ArrayList<>();
@@ -1325,7 +1319,7 @@ public class TriggerHandler {
                 // Register Trigger Blocks
 
                 TriggerBlock triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().getFirst()[0], gameLevel.triggerBlockCoords().getFirst()[1],
-                        ID.TriggerBlock, 0, 1, 5, this, 3, 2, 2, 3);
+                        ID.TriggerBlock, 0, 1, 5, scheduler, 3, 2, 2, 3);
 
                 Runnable runnable = () -> {
                     int c = 0;
@@ -1341,7 +1335,7 @@ public class TriggerHandler {
 
 
                 triggerBlock = new TriggerBlock(gameLevel.triggerBlockCoords().get(1)[0], gameLevel.triggerBlockCoords().get(1)[1],
-                        ID.TriggerBlock, 0, 1, 5, this, 1, 0, 2, 1);
+                        ID.TriggerBlock, 0, 1, 5, scheduler, 1, 0, 2, 1);
 
                 runnable = () -> {
                     int c = 0;
@@ -1356,9 +1350,9 @@ public class TriggerHandler {
                 handler.addObject(triggerBlock);
             }
             case LEVEL_E_III -> {
-                Game.player.SPEED_X = -5;
-                Game.player.SPEED_Y = 40;
-                Game.player.resetPhysics(true);
+                session.player.SPEED_X = -5;
+                session.player.SPEED_Y = 40;
+                session.player.resetPhysics(true);
 
                 // Register Spike Blocks
                 int c = 0;
@@ -1377,9 +1371,9 @@ public class TriggerHandler {
                 }
             }
             case LEVEL_E_IV -> {
-                Game.player.SPEED_X = -5;
-                Game.player.setCancelUP(true);
-                Game.player.resetPhysics(true);
+                session.player.SPEED_X = -5;
+                session.player.setCancelUP(true);
+                session.player.resetPhysics(true);
 
                 // Register Spike Blocks
                 for(int[] j : gameLevel.spikeBlockCoords()) {
@@ -1390,8 +1384,8 @@ public class TriggerHandler {
                 }
             }
             case LEVEL_E_V -> {
-                Game.player.SPEED_X = -5;
-                Game.player.resetPhysics(true);
+                session.player.SPEED_X = -5;
+                session.player.resetPhysics(true);
 
                 // Register Spike Blocks
                 for(int[] j : gameLevel.spikeBlockCoords()) {
@@ -1402,15 +1396,15 @@ public class TriggerHandler {
 
                 for(int[] j : gameLevel.triggerBlockCoords()) {
                     TriggerBlock triggerBlock = new TriggerBlock(j[0], j[1],
-                            ID.TriggerBlock, 0, 1, this, -1, 1, 16, 16);
+                            ID.TriggerBlock, 0, 1, scheduler, -1, 1, 16, 16);
 
                     Runnable runnable = new Runnable() {
                         @Override
                         public void run() {
                             SoundFXLoader sound = new SoundFXLoader();
                             sound.playSound("/sounds/Power Up S.mp3");
-                            Game.player.SPEED_X = -Game.player.SPEED_X;
-                            Game.player.resetPhysics(true);
+                            session.player.SPEED_X = -session.player.SPEED_X;
+                            session.player.resetPhysics(true);
                             terminateTriggerTask(this);
                         }
                     };
@@ -1443,22 +1437,18 @@ public class TriggerHandler {
         };
     }
 
-    public void scheduleTriggerTask(TriggerBlock triggerBlock) {
-        String caller = Thread.currentThread().getStackTrace()[2].getClassName();
-        if(!caller.equals(TriggerBlock.class.getName())) return;
+    private void scheduleTriggerTask(TriggerBlock triggerBlock) {
         if(!triggerActions.containsKey(triggerBlock)) return;
-        handler.scheduledTasks.put(triggerActions.get(triggerBlock), new Handler.Clock(triggerBlock.getDelay(), triggerBlock.getSpeed(), triggerBlock.getIterations()));
+        handler.schedule(triggerActions.get(triggerBlock), triggerBlock.getDelay(), triggerBlock.getSpeed(), triggerBlock.getIterations());
         triggerActions.remove(triggerBlock);
     }
 
-    public void scheduleTriggerTask(Runnable runnable) {
-        String caller = Thread.currentThread().getStackTrace()[2].getClassName();
-        if(!caller.equals(ButtonBlock.class.getName())) return;
-        handler.scheduledTasks.put(runnable, new Handler.Clock(0, 2, 400));
+    private void scheduleTriggerTask(Runnable runnable) {
+        handler.schedule(runnable, 0, 2, 400);
     }
 
     public void terminateTriggerTask(Runnable runnable) {
-        handler.scheduledTasks.remove(runnable);
+        handler.cancel(runnable);
     }
 
 }
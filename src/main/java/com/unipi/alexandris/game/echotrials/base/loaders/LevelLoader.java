@@ -1,10 +1,15 @@
 package com.unipi.alexandris.game.echotrials.base.loaders;
 
 import com.unipi.alexandris.game.echotrials.base.Game;
+import com.unipi.alexandris.game.echotrials.base.Session;
 import com.unipi.alexandris.game.echotrials.base.core.GameLevel;
 import com.unipi.alexandris.game.echotrials.base.core.ID;
 import com.unipi.alexandris.game.echotrials.base.core.LevelID;
 import com.unipi.alexandris.game.echotrials.base.handlers.TriggerHandler;
+import com.unipi.alexandris.game.echotrials.base.physics.AreaCollisionWorld;
+import com.unipi.alexandris.game.echotrials.base.physics.CollisionWorld;
+import com.unipi.alexandris.game.echotrials.base.physics.DynamicColliders;
+import com.unipi.alexandris.game.echotrials.base.physics.TileCollisionWorld;
 import com.unipi.alexandris.game.echotrials.base.roomobjects.*;
 import com.unipi.alexandris.game.echotrials.base.handlers.Handler;
 
@@ -17,50 +22,215 @@ import java.util.*;
  * The LevelLoader class handles loading and initialization of game levels.
  * It manages:
  * <ul>
- *   <li>Level data deserialization from files</li>
+ *   <li>Level data deserialization from files, with an in-memory cache of parsed levels</li>
  *   <li>Game object initialization and placement</li>
  *   <li>Background and foreground layer setup</li>
  *   <li>Collision area configuration</li>
  *   <li>Player and portal placement</li>
+ *   <li>Snapshots of built levels for fast respawns</li>
  * </ul>
  * This class is crucial for transitioning between different game levels.
+ * Each session has a loader of its own, which loads the levels into the session.
  */
 public class LevelLoader {
-	/** The main game object handler. */
+	/** The session levels are loaded into. */
+	private final Session session;
+
+	/** The game object handler of the session. */
 	private final Handler handler;
-	
-	/** Handler for level-specific triggers and interactions. */
-	private final TriggerHandler triggerHandler;
-	
-	/** Collection of images used for level backgrounds. */
-	private final ArrayList<BufferedImage> backgroundImages = new ArrayList<>();
+
+	/** Maximum number of parsed levels kept in memory. */
+	private static final int CACHE_CAPACITY = 8;
+
+	/** Parsed levels in access order, so the least recently loaded level is evicted first. */
+	private static final LinkedHashMap<LevelID, GameLevel> cache = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<LevelID, GameLevel> eldest) {
+			return size() > CACHE_CAPACITY;
+		}
+	};
+
+	/** Number of loads served from the cache. */
+	private static long cacheHits = 0;
+
+	/** Number of loads that had to deserialize the level. */
+	private static long cacheMisses = 0;
+
+	/** Snapshot of the most recently loaded level, restored on reload. */
+	private Snapshot snapshot;
+
+	/**
+	 * Record holding the state of a level right after it was built.
+	 * Everything in it is either immutable during play or reset on restore, so it can be reused by every respawn:
+	 * the parsed level, the collision areas and world, the tile grid and seed of the particles, the kinematic collider
+	 * registry and the rendered layers.
+	 */
+	public record Snapshot(GameLevel gameLevel, CollisionWorld.Engine engine, long seed, Area block, Area ice, Area water,
+						   DynamicColliders colliders, CollisionWorld world, TileCollisionWorld tiles, long particleSeed,
+						   Background background, Foreground foreground) {}
 
 	/**
-	 * Constructs a new LevelLoader with a reference to the game's object handler.
-	 * Initializes a new TriggerHandler for managing level-specific interactions.
+	 * Constructs a new LevelLoader for a session.
 	 *
-	 * @param handler The main game object handler
+	 * @param session The session levels are loaded into
 	 */
-	public LevelLoader(Handler handler) {
-		this.handler = handler;
-		triggerHandler = new TriggerHandler(handler);
+	public LevelLoader(Session session) {
+		this.session = session;
+		this.handler = session.handler;
 	}
 	
 	/**
 	 * Loads and initializes a game level from its serialized data file.
 	 * This method:
 	 * <ul>
-	 *   <li>Deserializes level data from resources</li>
+	 *   <li>Gets the parsed level data, deserializing it from resources only when it is not cached</li>
 	 *   <li>Sets up collision areas and spawn points</li>
 	 *   <li>Creates background and foreground layers</li>
+	 *   <li>Seeds the layers and the particles from the game seed and the level</li>
 	 *   <li>Places the player and portal objects</li>
 	 *   <li>Configures level-specific triggers</li>
+	 *   <li>Keeps a snapshot of the built level for {@link #reload(LevelID)}</li>
 	 * </ul>
 	 *
 	 * @param levelID The identifier of the level to load
 	 * @return The loaded and initialized GameLevel object
 	 */
 	public GameLevel load(LevelID levelID) {
+		GameLevel gameLevel = getLevel(levelID);
+
+        if(gameLevel == null) {
+			System.out.println(Game.class.getResource("/levels/data/" + levelID.name() + ".data"));
+			System.out.println(" ");
+			System.exit(1);
+		}
+
+		// Initialize the level state of the session
+		session.block = new Area(gameLevel.blockArea());
+		session.ice = new Area(gameLevel.iceArea());
+		session.water = new Area(gameLevel.waterArea());
+		session.colliders = new DynamicColliders();
+		// The tile grid is built for every engine, as particles always collide against it.
+		TileCollisionWorld tiles = new TileCollisionWorld(gameLevel.backgroundMap(), gameLevel.multiplier(), session.colliders);
+		session.world = switch(Game.collisionEngine) {
+			case AREA -> new AreaCollisionWorld(session.block, session.ice, session.water, session.colliders);
+			case TILE -> tiles;
+		};
+		handler.getParticles().setTiles(tiles);
+		SplittableRandom levelRandom = new SplittableRandom(session.seed ^ levelID.name().hashCode());
+		long backgroundSeed = levelRandom.nextLong();
+		long foregroundSeed = levelRandom.nextLong();
+		long particleSeed = levelRandom.nextLong();
+		handler.getParticles().seed(particleSeed);
+		session.i_p_x = gameLevel.playerCoords()[0];
+		session.i_p_y = gameLevel.playerCoords()[1];
+
+		// Initialize Base Game Objects (Level, Player, etc.)
+		ArrayList<BufferedImage> backgroundImages = new ArrayList<>();
+		backgroundImages.add(Game.gameImages.brickImage());
+		backgroundImages.add(Game.gameImages.iceImage());
+		backgroundImages.add(Game.gameImages.waterImage());
+		backgroundImages.add(Game.gameImages.backgroundImage());
+		Background background = new Background(0, 0, ID.Background, backgroundImages,
+				new ArrayList<>(Collections.singleton(gameLevel.backgroundMap())), gameLevel.multiplier(), gameLevel.mapWidth(), gameLevel.mapHeight(), backgroundSeed);
+		handler.addObject(background);
+
+		build(gameLevel);
+
+		Foreground foreground = new Foreground(0, 0, ID.Foreground, backgroundImages,
+				new ArrayList<>(Collections.singleton(gameLevel.backgroundMap())), gameLevel.multiplier(), gameLevel.mapWidth(), gameLevel.mapHeight(), foregroundSeed);
+		handler.addObject(foreground);
+
+		snapshot = new Snapshot(gameLevel, Game.collisionEngine, session.seed, session.block, session.ice, session.water, session.colliders,
+				session.world, tiles, particleSeed, background, foreground);
+
+		return gameLevel;
+	}
+
+	/**
+	 * Reloads a game level, restoring it from the snapshot taken when it was last loaded.
+	 * The rendered layers and the collision geometry of the snapshot are reused as they are, so a respawn skips
+	 * the deserialization, the rasterization of the layers and the collision setup of a full load.
+	 * The runtime objects are still rebuilt: the portals, the player, and the triggers, trap, moving and spike
+	 * blocks created by {@link TriggerHandler#buildLevel}.
+	 * The collider registry is cleared, which also invalidates the handles of the blocks of the previous build,
+	 * so blocks of the level being left that still move during the current tick cannot move the new blocks.
+	 * The particles are reseeded with the seed of the snapshot, so every respawn behaves the same.
+	 * Falls back to {@link #load(LevelID)} if the snapshot belongs to another level, collision engine or seed.
+	 *
+	 * @param levelID The identifier of the level to reload
+	 * @return The reloaded GameLevel object
+	 */
+	public GameLevel reload(LevelID levelID) {
+		if(snapshot == null || snapshot.gameLevel().levelID() != levelID || snapshot.engine() != Game.collisionEngine
+				|| snapshot.seed() != session.seed) return load(levelID);
+
+		GameLevel gameLevel = snapshot.gameLevel();
+		session.block = snapshot.block();
+		session.ice = snapshot.ice();
+		session.water = snapshot.water();
+		session.colliders = snapshot.colliders();
+		session.colliders.clear();
+		session.world = snapshot.world();
+		handler.getParticles().setTiles(snapshot.tiles());
+		handler.getParticles().seed(snapshot.particleSeed());
+		session.i_p_x = gameLevel.playerCoords()[0];
+		session.i_p_y = gameLevel.playerCoords()[1];
+
+		handler.addObject(snapshot.background());
+		build(gameLevel);
+		handler.addObject(snapshot.foreground());
+
+		return gameLevel;
+	}
+
+	/**
+	 * Creates the runtime objects of a level: the portals, the player and the level-specific triggers.
+	 * The collision geometry must already be in place. Every build gets a new trigger handler,
+	 * so no trigger of a previous build survives it.
+	 *
+	 * @param gameLevel The parsed level
+	 */
+	private void build(GameLevel gameLevel) {
+		ArrayList<GameObject> portalBlocks = new ArrayList<>();
+		for(Integer[] goalCoords : gameLevel.goalCoords()) {
+			PortalBlock portalBlock = new PortalBlock(goalCoords[0], goalCoords[1], ID.Goal, Game.gameImages.portalImages());
+			portalBlock.unlock();
+			portalBlocks.add(portalBlock);
+			handler.addObject(portalBlock); // Also initializes the goal in the session.
+		}
+
+		Player player = new Player(session.i_p_x + 30, session.i_p_y + 30, ID.Player, handler);
+		handler.addObject(player); // Also initializes the player in the session.
+
+		new TriggerHandler(handler).buildLevel(portalBlocks, gameLevel);
+	}
+
+	/**
+	 * Gets the parsed data of a level, deserializing it only if it is not cached.
+	 * Cached levels are shared and must not be modified; runtime state is copied out of them.
+	 *
+	 * @param levelID The identifier of the level
+	 * @return The parsed level, or null if it could not be deserialized
+	 */
+	private static synchronized GameLevel getLevel(LevelID levelID) {
+		GameLevel gameLevel = cache.get(levelID);
+		if(gameLevel != null) {
+			cacheHits++;
+			return gameLevel;
+		}
+		cacheMisses++;
+		gameLevel = readLevel(levelID);
+		if(gameLevel != null) cache.put(levelID, gameLevel);
+		return gameLevel;
+	}
+
+	/**
+	 * Deserializes a level from its data file.
+	 *
+	 * @param levelID The identifier of the level
+	 * @return The parsed level, or null if it could not be deserialized
+	 */
+	private static GameLevel readLevel(LevelID levelID) {
 		GameLevel gameLevel = null;
 
 		// Deserialization of the level
@@ -89,46 +259,32 @@ public class LevelLoader {
 		{
 			System.out.println(levelID + " data was not found.");
 		}
-        if(gameLevel == null) {
-			System.out.println(Game.class.getResource("/levels/data/" + levelID.name() + ".data"));
-			System.out.println(" ");
-			System.exit(1);
-		}
-
-		// Initialize Game level constants
-		Game.block = new Area(gameLevel.blockArea());
-		Game.ice = new Area(gameLevel.iceArea());
-		Game.water = new Area(gameLevel.waterArea());
-		Game.i_p_x = gameLevel.playerCoords()[0];
-		Game.i_p_y = gameLevel.playerCoords()[1];
-
-		// Initialize Base Game Objects (Level, Player, etc.)
-		backgroundImages.add(Game.gameImages.brickImage());
-		backgroundImages.add(Game.gameImages.iceImage());
-		backgroundImages.add(Game.gameImages.waterImage());
-		backgroundImages.add(Game.gameImages.backgroundImage());
-		handler.addObject(new Background(0, 0, ID.Background, backgroundImages,
-				new ArrayList<>(Collections.singleton(gameLevel.backgroundMap())), gameLevel.multiplier(), gameLevel.mapWidth(), gameLevel.mapHeight()));
-
-		ArrayList<GameObject> portalBlocks = new ArrayList<>();
-		for(Integer[] goalCoords : gameLevel.goalCoords()) {
-			PortalBlock portalBlock = new PortalBlock(goalCoords[0], goalCoords[1], ID.Goal, Game.gameImages.portalImages());
-			portalBlock.unlock();
-			portalBlocks.add(portalBlock);
-			handler.addObject(portalBlock); // Also initializes the goal in the Game constants.
-		}
-
-		Player player = new Player(Game.i_p_x + 30, Game.i_p_y + 30, ID.Player, handler);
-		player.addExtraObstructions(Game.ice);
-		handler.addObject(player); // Also initializes the player in the Game constants.
-
-		triggerHandler.buildLevel(portalBlocks, gameLevel);
+		return gameLevel;
+	}
 
-		handler.addObject(new Foreground(0, 0, ID.Foreground, backgroundImages,
-				new ArrayList<>(Collections.singleton(gameLevel.backgroundMap())), gameLevel.multiplier(), gameLevel.mapWidth(), gameLevel.mapHeight()));
+	/**
+	 * Gets the number of level loads served from the parsed-level cache.
+	 *
+	 * @return The number of cache hits
+	 */
+	public static synchronized long getCacheHits() {
+		return cacheHits;
+	}
 
+	/**
+	 * Gets the number of level loads that had to deserialize the level.
+	 *
+	 * @return The number of cache misses
+	 */
+	public static synchronized long getCacheMisses() {
+		return cacheMisses;
+	}
 
-		return gameLevel;
+	/**
+	 * Drops every parsed level from the cache. The hit and miss counters are kept.
+	 */
+	public static synchronized void clearCache() {
+		cache.clear();
 	}
-	
+
 }
@@ -16,6 +16,7 @@ import java.util.Random;
  *   <li>Random selection from multiple sound variants</li>
  *   <li>Asynchronous sound playback using JavaFX</li>
  *   <li>Error handling for sound loading failures</li>
+ *   <li>Muting all playback, for runs without JavaFX or audio</li>
  * </ul>
  * This class ensures smooth audio feedback during gameplay.
  */
@@ -27,6 +28,12 @@ public class SoundFXLoader {
 	 */
 	static final MediaPlayer[] mediaPlayer = {null};
 
+	/**
+	 * Whether sound playback is skipped. Set with the "echotrials.mute" system property,
+	 * and always set by the headless runner, where the JavaFX platform is never started.
+	 */
+	public static boolean muted = Boolean.getBoolean("echotrials.mute");
+
 	/**
 	 * Constructs a new SoundFXLoader.
 	 * Initializes a loader ready to handle sound playback requests.
@@ -43,6 +50,7 @@ public class SoundFXLoader {
 	 * @param path The resource path to the sound file
 	 */
 	public void playSound(String path) {
+		if(muted) return;
 		try {
 			Platform.runLater(() -> {
                 Media sound = new Media(Objects.requireNonNull(Game.class.getResource(path)).toString());
@@ -62,6 +70,7 @@ public class SoundFXLoader {
 	 * @param paths Variable number of resource paths to choose from
 	 */
 	public void playSound(String... paths) {
+		if(muted) return;
 		try {
 			Platform.runLater(() -> {
 				Random random = new Random();
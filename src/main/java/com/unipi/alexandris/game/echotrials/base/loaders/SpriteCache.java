@@ -0,0 +1,150 @@
+package com.unipi.alexandris.game.echotrials.base.loaders;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.HashMap;
+
+/**
+ * The SpriteCache class keeps animation frames decoded and pre-scaled in memory.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Decoding every animation image exactly once per resource path</li>
+ *   <li>Caching scaled and flipped frames keyed by animation, size and orientation</li>
+ *   <li>Invalidating the scaled frames when the owner's scale factors change</li>
+ * </ul>
+ * This class removes per-tick image decoding and per-frame image allocation from animated objects.
+ */
+public class SpriteCache {
+
+	/** Maximum number of scaled frames kept before the cache is flushed. */
+	private static final int MAX_FRAMES = 256;
+
+	/** Decoded source images shared by every cache, keyed by resource path. */
+	private static final HashMap<String, BufferedImage> sources = new HashMap<>();
+
+	/** Utility for decoding and resizing the animation images. */
+	private static final BufferedImageLoader loader = new BufferedImageLoader();
+
+	/** Source images of the animations, indexed by animation number. */
+	private final BufferedImage[] animations;
+
+	/** Scaled frames keyed by the packed animation, size and flip flags. */
+	private final HashMap<Long, BufferedImage> frames = new HashMap<>();
+
+	/** Horizontal scale factor the cached frames were produced for. */
+	private double scaleX = Double.NaN;
+
+	/** Vertical scale factor the cached frames were produced for. */
+	private double scaleY = Double.NaN;
+
+	/** Key of the most recently requested frame. */
+	private long lastKey = -1;
+
+	/** Most recently requested frame, returned without a map lookup when requested again. */
+	private BufferedImage lastFrame;
+
+	/**
+	 * Constructs a new SpriteCache and decodes the given animations.
+	 * The index of each path in the arguments becomes its animation number.
+	 *
+	 * @param paths The resource paths of the animation images
+	 */
+	public SpriteCache(String... paths) {
+		animations = new BufferedImage[paths.length];
+		for(int i = 0; i < paths.length; i++) {
+			animations[i] = decode(paths[i]);
+		}
+	}
+
+	/**
+	 * Decodes an image once and shares it between all caches.
+	 *
+	 * @param path The resource path to the image file
+	 * @return The decoded image
+	 */
+	private static synchronized BufferedImage decode(String path) {
+		return sources.computeIfAbsent(path, loader::loadImage);
+	}
+
+	/**
+	 * Records the scale factors the frames are produced for.
+	 * The cached frames are dropped only when the factors actually change.
+	 *
+	 * @param scaleX The horizontal scale factor of the owner
+	 * @param scaleY The vertical scale factor of the owner
+	 */
+	public void setScale(double scaleX, double scaleY) {
+		if(scaleX != this.scaleX || scaleY != this.scaleY) {
+			this.scaleX = scaleX;
+			this.scaleY = scaleY;
+			invalidate();
+		}
+	}
+
+	/**
+	 * Drops every scaled frame kept by this cache.
+	 * The decoded source images are kept.
+	 */
+	public void invalidate() {
+		frames.clear();
+		lastKey = -1;
+		lastFrame = null;
+	}
+
+	/**
+	 * Gets a frame of an animation scaled to the given size and optionally flipped.
+	 * The frame is produced on the first request and served from memory afterward.
+	 *
+	 * @param animation The animation number
+	 * @param width The frame width in pixels
+	 * @param height The frame height in pixels
+	 * @param flipX Whether the frame is mirrored horizontally
+	 * @param flipY Whether the frame is mirrored vertically
+	 * @return The scaled frame, or null if the size is not positive
+	 */
+	public BufferedImage getFrame(int animation, int width, int height, boolean flipX, boolean flipY) {
+		if(width <= 0 || height <= 0) return null;
+		long key = ((long) animation << 40) | (flipX ? 1L << 33 : 0) | (flipY ? 1L << 32 : 0)
+				| ((long) (width & 0xFFFF) << 16) | (height & 0xFFFF);
+		if(key == lastKey) return lastFrame;
+
+		BufferedImage frame = frames.get(key);
+		if(frame == null) {
+			if(frames.size() >= MAX_FRAMES) frames.clear();
+			frame = createFrame(animations[animation], width, height, flipX, flipY);
+			frames.put(key, frame);
+		}
+		lastKey = key;
+		lastFrame = frame;
+		return frame;
+	}
+
+	/**
+	 * Scales a source image and mirrors the scaled result if requested.
+	 *
+	 * @param source The decoded source image
+	 * @param width The target width in pixels
+	 * @param height The target height in pixels
+	 * @param flipX Whether the frame is mirrored horizontally
+	 * @param flipY Whether the frame is mirrored vertically
+	 * @return The new frame
+	 */
+	private BufferedImage createFrame(BufferedImage source, int width, int height, boolean flipX, boolean flipY) {
+		BufferedImage scaled;
+		try {
+			scaled = loader.resizeImage(source, width, height);
+		} catch (IOException ignored) {
+			System.out.println("[SEVERE]: There has been an error attempting to scale an animation frame.");
+			return null;
+		}
+		if(!flipX && !flipY) return scaled;
+
+		BufferedImage flipped = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics2D = flipped.createGraphics();
+		graphics2D.drawImage(scaled, flipX ? width : 0, flipY ? height : 0, flipX ? -width : width, flipY ? -height : height, null);
+		graphics2D.dispose();
+		return flipped;
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.unipi.alexandris.game.echotrials.base.physics;
+
+import java.awt.geom.Area;
+
+/**
+ * The AreaCollisionWorld class answers collision queries with polygon areas.
+ * It provides:
+ * <ul>
+ *   <li>Queries against the block, ice and water areas deserialized with the level</li>
+ *   <li>Solid queries combining the block and ice areas with the kinematic colliders</li>
+ * </ul>
+ * This is the reference engine; its results define the expected gameplay.
+ */
+public class AreaCollisionWorld implements CollisionWorld {
+
+	/** Union of the block and ice areas. */
+	private final Area solid;
+
+	/** Collision area for regular blocks. */
+	private final Area block;
+
+	/** Collision area for ice blocks. */
+	private final Area ice;
+
+	/** Collision area for water blocks. */
+	private final Area water;
+
+	/** Kinematic solid boxes. */
+	private final DynamicColliders colliders;
+
+	/**
+	 * Constructs a new AreaCollisionWorld from the level areas.
+	 *
+	 * @param block Collision area for regular blocks
+	 * @param ice Collision area for ice blocks
+	 * @param water Collision area for water blocks
+	 * @param colliders Kinematic solid boxes
+	 */
+	public AreaCollisionWorld(Area block, Area ice, Area water, DynamicColliders colliders) {
+		this.solid = new Area(block);
+		this.solid.add(ice);
+		this.block = block;
+		this.ice = ice;
+		this.water = water;
+		this.colliders = colliders;
+	}
+
+	@Override
+	public boolean overlapsSolid(double x, double y, double width, double height) {
+		return overlaps(solid, x, y, width, height) || colliders.intersects(x, y, width, height);
+	}
+
+	@Override
+	public boolean overlapsBlock(double x, double y, double width, double height) {
+		return overlaps(block, x, y, width, height);
+	}
+
+	@Override
+	public boolean overlapsIce(double x, double y, double width, double height) {
+		return overlaps(ice, x, y, width, height);
+	}
+
+	@Override
+	public boolean overlapsWater(double x, double y, double width, double height) {
+		return overlaps(water, x, y, width, height);
+	}
+
+	/**
+	 * Tests whether a rectangle overlaps a collision area.
+	 *
+	 * @param area The collision area
+	 * @param x Left edge of the rectangle
+	 * @param y Top edge of the rectangle
+	 * @param width Width of the rectangle
+	 * @param height Height of the rectangle
+	 * @return true if the rectangle overlaps the interior of the area, false otherwise
+	 */
+	private static boolean overlaps(Area area, double x, double y, double width, double height) {
+		return width > 0 && height > 0 && area.intersects(x, y, width, height);
+	}
+}
@@ -0,0 +1,69 @@
+package com.unipi.alexandris.game.echotrials.base.physics;
+
+/**
+ * The CollisionWorld interface describes the collision geometry of a loaded level.
+ * It provides queries for:
+ * <ul>
+ *   <li>Solid obstructions, including ice and kinematic blocks</li>
+ *   <li>Regular blocks and ice, used for surface-specific behavior</li>
+ *   <li>Water, used for swimming physics</li>
+ * </ul>
+ * All queries test the interior of an axis-aligned rectangle; rectangles without a positive area
+ * never overlap anything. Implementations differ only in the data structure backing the queries.
+ */
+public interface CollisionWorld {
+
+	/**
+	 * The available collision engines.
+	 */
+	enum Engine {
+		/** Polygon areas deserialized with the level */
+		AREA,
+		/** Primitive tile bitmask built from the level's background map */
+		TILE
+	}
+
+	/**
+	 * Tests whether a rectangle overlaps anything solid.
+	 *
+	 * @param x Left edge of the rectangle
+	 * @param y Top edge of the rectangle
+	 * @param width Width of the rectangle
+	 * @param height Height of the rectangle
+	 * @return true if the rectangle overlaps a block, ice or a kinematic solid, false otherwise
+	 */
+	boolean overlapsSolid(double x, double y, double width, double height);
+
+	/**
+	 * Tests whether a rectangle overlaps a regular block.
+	 *
+	 * @param x Left edge of the rectangle
+	 * @param y Top edge of the rectangle
+	 * @param width Width of the rectangle
+	 * @param height Height of the rectangle
+	 * @return true if the rectangle overlaps a regular block, false otherwise
+	 */
+	boolean overlapsBlock(double x, double y, double width, double height);
+
+	/**
+	 * Tests whether a rectangle overlaps ice.
+	 *
+	 * @param x Left edge of the rectangle
+	 * @param y Top edge of the rectangle
+	 * @param width Width of the rectangle
+	 * @param height Height of the rectangle
+	 * @return true if the rectangle overlaps ice, false otherwise
+	 */
+	boolean overlapsIce(double x, double y, double width, double height);
+
+	/**
+	 * Tests whether a rectangle overlaps water.
+	 *
+	 * @param x Left edge of the rectangle
+	 * @param y Top edge of the rectangle
+	 * @param width Width of the rectangle
+	 * @param height Height of the rectangle
+	 * @return true if the rectangle overlaps water, false otherwise
+	 */
+	boolean overlapsWater(double x, double y, double width, double height);
+}
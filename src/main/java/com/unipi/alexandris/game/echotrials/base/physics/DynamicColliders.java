@@ -0,0 +1,123 @@
+package com.unipi.alexandris.game.echotrials.base.physics;
+
+import java.util.Arrays;
+
+/**
+ * The DynamicColliders class is a registry of kinematic, axis-aligned solid boxes.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Registering solid boxes such as moving blocks and handing out stable handles</li>
+ *   <li>Updating a registered box in constant time when its owner moves</li>
+ *   <li>Testing probe rectangles against every registered box without allocating</li>
+ * </ul>
+ * Collision queries combine this registry with the static level geometry, so moving a block
+ * never requires rebuilding the level's collision area.
+ * A handle carries the generation of the registry it was handed out in; clearing the registry starts
+ * a new generation, so the owners of boxes from before the clear can no longer move the boxes registered after it.
+ */
+public class DynamicColliders {
+
+	/** Initial capacity of the box arrays. */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/** Left edges of the registered boxes, indexed by handle. */
+	private double[] xs = new double[INITIAL_CAPACITY];
+
+	/** Top edges of the registered boxes, indexed by handle. */
+	private double[] ys = new double[INITIAL_CAPACITY];
+
+	/** Widths of the registered boxes, indexed by handle. */
+	private double[] widths = new double[INITIAL_CAPACITY];
+
+	/** Heights of the registered boxes, indexed by handle. */
+	private double[] heights = new double[INITIAL_CAPACITY];
+
+	/** Number of registered boxes. */
+	private int count = 0;
+
+	/** Number of low handle bits holding the index of a box; the bits above hold the generation. */
+	private static final int INDEX_BITS = 20;
+
+	/** Mask turning a handle into the index of its box. */
+	private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+	/** Generation of the registry, advanced by every {@link #clear()}. */
+	private int generation = 0;
+
+	/**
+	 * Registers a new solid box.
+	 *
+	 * @param x Left edge of the box
+	 * @param y Top edge of the box
+	 * @param width Width of the box
+	 * @param height Height of the box
+	 * @return The handle used to update the box
+	 */
+	public int add(double x, double y, double width, double height) {
+		if(count == xs.length) {
+			int capacity = count * 2;
+			xs = Arrays.copyOf(xs, capacity);
+			ys = Arrays.copyOf(ys, capacity);
+			widths = Arrays.copyOf(widths, capacity);
+			heights = Arrays.copyOf(heights, capacity);
+		}
+		xs[count] = x;
+		ys[count] = y;
+		widths[count] = width;
+		heights[count] = height;
+		return generation << INDEX_BITS | count++;
+	}
+
+	/**
+	 * Moves a registered box to a new position, keeping its size.
+	 * Handles from before the last {@link #clear()} are ignored.
+	 *
+	 * @param handle The handle returned when the box was registered
+	 * @param x New left edge of the box
+	 * @param y New top edge of the box
+	 */
+	public void moveTo(int handle, double x, double y) {
+		if(handle >>> INDEX_BITS != generation) return;
+		int index = handle & INDEX_MASK;
+		xs[index] = x;
+		ys[index] = y;
+	}
+
+	/**
+	 * Tests whether a rectangle overlaps the interior of any registered box.
+	 * Rectangles that merely touch a box, or have no positive area, do not overlap it.
+	 *
+	 * @param x Left edge of the rectangle
+	 * @param y Top edge of the rectangle
+	 * @param width Width of the rectangle
+	 * @param height Height of the rectangle
+	 * @return true if the rectangle overlaps a registered box, false otherwise
+	 */
+	public boolean intersects(double x, double y, double width, double height) {
+		if(width <= 0 || height <= 0) return false;
+		double right = x + width;
+		double bottom = y + height;
+		for(int i = 0; i < count; i++) {
+			if(x < xs[i] + widths[i] && right > xs[i] && y < ys[i] + heights[i] && bottom > ys[i]) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes every registered box and starts a new generation.
+	 * Handles handed out before the call become invalid, and moving them has no effect.
+	 */
+	public void clear() {
+		count = 0;
+		generation = (generation + 1) & (-1 >>> INDEX_BITS);
+	}
+
+	/**
+	 * Gets the number of registered boxes.
+	 *
+	 * @return The number of registered boxes
+	 */
+	public int size() {
+		return count;
+	}
+}
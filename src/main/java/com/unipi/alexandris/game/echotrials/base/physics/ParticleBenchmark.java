@@ -0,0 +1,137 @@
+package com.unipi.alexandris.game.echotrials.base.physics;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The ParticleBenchmark class measures the particle update serially and in parallel, to tune the parallel threshold.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Filling a particle system with colliding particles inside a walled tile grid, as a burst in a level does</li>
+ *   <li>Timing the tick of the same particles with parallel updates disabled and always enabled, best of a few rounds</li>
+ *   <li>Reporting, for every particle count, both times and the smallest count at which the parallel update wins</li>
+ * </ul>
+ * Usage: {@code ParticleBenchmark [ticks]}. The parallel update runs on the common ForkJoin pool, whose size can be
+ * set with the "java.util.concurrent.ForkJoinPool.common.parallelism" system property.
+ * The result is what the "echotrials.particles.parallel" system property should be set to on the measured machine.
+ */
+public class ParticleBenchmark {
+
+	/** Particle counts measured; below twice the grain of a parallel update it never splits. */
+	private static final int[] COUNTS = {2048, 4096, 8192, 12288, ParticleSystem.CAPACITY};
+
+	/** Measurements of every count and mode, of which the fastest is kept, to filter out noise. */
+	private static final int ROUNDS = 3;
+
+	/** Ticks run before timing, so the update is compiled and the pool is started. */
+	private static final int WARMUP_TICKS = 200;
+
+	/** Ticks timed when no tick count is given. */
+	private static final int DEFAULT_TICKS = 1000;
+
+	/** Size of a tile of the grid in pixels, as in the levels. */
+	private static final int TILE_SIZE = 48;
+
+	/** Colors of the particles. */
+	private static final Color[] COLORS = {Color.WHITE, Color.CYAN, Color.BLUE};
+
+	/**
+	 * Builds a grid of 40 by 24 tiles with solid walls, a solid floor and a few solid platforms.
+	 *
+	 * @return The tile grid
+	 */
+	private static TileCollisionWorld grid() {
+		char[][] map = new char[40][24];
+		for(int column = 0; column < map.length; column++) {
+			Arrays.fill(map[column], ' ');
+			map[column][0] = 'b';
+			map[column][map[column].length - 1] = 'b';
+			if(column % 8 < 4) map[column][16] = 'b';
+		}
+		Arrays.fill(map[0], 'b');
+		Arrays.fill(map[map.length - 1], 'b');
+		return new TileCollisionWorld(map, TILE_SIZE, new DynamicColliders());
+	}
+
+	/**
+	 * Creates a particle system holding a number of colliding particles that live longer than the benchmark.
+	 *
+	 * @param count The number of particles
+	 * @param tiles The tile grid the particles collide with
+	 * @return The particle system
+	 */
+	private static ParticleSystem fill(int count, TileCollisionWorld tiles) {
+		ParticleSystem particles = new ParticleSystem();
+		particles.seed(count);
+		particles.setTiles(tiles);
+		particles.setBudget(ParticleSystem.CAPACITY);
+		particles.setSpawnLimit(ParticleSystem.CAPACITY);
+		SplittableRandom random = particles.split();
+		while(particles.size() < count) {
+			particles.spawn(random, TILE_SIZE + random.nextDouble() * 36 * TILE_SIZE, TILE_SIZE + random.nextDouble() * 20 * TILE_SIZE,
+					COLORS, 4, 3, 2, 2, 2, 1_000_000, 0, 0.2, random.nextDouble() * 4 - 2, -random.nextDouble() * 4, true, 's');
+		}
+		return particles;
+	}
+
+	/**
+	 * Times the tick of a number of particles.
+	 *
+	 * @param count The number of particles
+	 * @param threshold The parallel threshold, 0 for serial updates
+	 * @param ticks The number of ticks timed
+	 * @param tiles The tile grid the particles collide with
+	 * @return The average time of a tick in nanoseconds
+	 */
+	public static double measure(int count, int threshold, int ticks, TileCollisionWorld tiles) {
+		ParticleSystem particles = fill(count, tiles);
+		particles.setParallelThreshold(threshold);
+		for(int i = 0; i < WARMUP_TICKS; i++) particles.tick();
+		long start = System.nanoTime();
+		for(int i = 0; i < ticks; i++) particles.tick();
+		return (System.nanoTime() - start) / (double) ticks;
+	}
+
+	/**
+	 * Times the tick of a number of particles a few times and keeps the fastest.
+	 *
+	 * @param count The number of particles
+	 * @param threshold The parallel threshold, 0 for serial updates
+	 * @param ticks The number of ticks timed per round
+	 * @param tiles The tile grid the particles collide with
+	 * @return The average time of a tick in the fastest round, in nanoseconds
+	 */
+	private static double best(int count, int threshold, int ticks, TileCollisionWorld tiles) {
+		double best = Double.MAX_VALUE;
+		for(int round = 0; round < ROUNDS; round++) best = Math.min(best, measure(count, threshold, ticks, tiles));
+		return best;
+	}
+
+	/**
+	 * Runs the benchmark from the command line and prints the time of a tick for every particle count.
+	 *
+	 * @param args Optionally the number of ticks timed per measurement
+	 */
+	public static void main(String[] args) {
+		int ticks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKS;
+		TileCollisionWorld tiles = grid();
+		System.out.println(Runtime.getRuntime().availableProcessors() + " cores, common pool parallelism "
+				+ ForkJoinPool.getCommonPoolParallelism() + ", " + ticks + " ticks per measurement");
+		measure(ParticleSystem.CAPACITY, 0, ticks, tiles);
+		measure(ParticleSystem.CAPACITY, 1, ticks, tiles);
+
+		int threshold = 0;
+		for(int count : COUNTS) {
+			double serial = best(count, 0, ticks, tiles);
+			double parallel = best(count, 1, ticks, tiles);
+			System.out.println(String.format("%6d particles: serial %8.1f us, parallel %8.1f us, speedup %.2fx",
+					count, serial / 1000, parallel / 1000, serial / parallel));
+			if(parallel < serial && threshold == 0) threshold = count;
+			if(parallel >= serial) threshold = 0;
+		}
+		if(threshold > 0) System.out.println("Parallel updates win from " + threshold + " particles: -Dechotrials.particles.parallel=" + threshold);
+		else System.out.println("Parallel updates never win on this machine: -Dechotrials.particles.parallel=0");
+	}
+}
@@ -1,10 +1,9 @@
 package com.unipi.alexandris.game.echotrials.base.physics;
 
-import com.unipi.alexandris.game.echotrials.base.core.ID;
 import com.unipi.alexandris.game.echotrials.base.handlers.Handler;
 
 import java.awt.*;
-import java.awt.geom.Area;
+import java.util.SplittableRandom;
 
 /**
  * The ParticleCreator class manages the creation and spawning of particle effects.
@@ -12,15 +11,23 @@ import java.awt.geom.Area;
  * <ul>
  *   <li>Creating particle systems with various properties</li>
  *   <li>Spawning particles with custom colors, sizes, and behaviors</li>
- *   <li>Managing particle physics and collision areas</li>
+ *   <li>Managing particle physics and collision with the level</li>
  *   <li>Supporting different particle shapes and patterns</li>
  * </ul>
  * This class is essential for creating visual effects like dust, water splashes, and explosions.
+ * Particles are stored in the {@link ParticleSystem} of the handler. Every creator draws from its own random
+ * stream, split from the stream of the particle system, so its particles are reproducible from the level seed.
  */
 public class ParticleCreator {
 	
-	/** The game object handler for managing particle instances. */
-	Handler handler;
+	/** The particle system of the game object handler. */
+	private final ParticleSystem particles;
+
+	/** Random stream of this emitter. */
+	private final SplittableRandom random;
+
+	/** Reusable array for single-color spawns. */
+	private final Color[] singleColor = new Color[1];
 
 	/**
 	 * Constructs a new ParticleCreator with a reference to the game's object handler.
@@ -28,7 +35,8 @@ public class ParticleCreator {
 	 * @param handler The handler for managing game objects and particles
 	 */
 	public ParticleCreator(Handler handler) {
-		this.handler = handler;
+		this.particles = handler.getParticles();
+		this.random = particles.split();
 	}
 	
 	/**
@@ -51,13 +59,13 @@ public class ParticleCreator {
 	 */
 	public void spawn(int num, double x, double y, Color[] color, int size, int offset, int spawn_offsetX, int spawn_offsetY, int size_offset, double time, double gravityX, double gravityY, char shape) {
 		for(int i = 0; i < num; i++) {
-			handler.addObject(new Particles(x, y, ID.Particles, handler, color, size, offset, spawn_offsetX, spawn_offsetY, size_offset, time, gravityX, gravityY, 0, 0, new Area(), shape));
+			particles.spawn(random, x, y, color, size, offset, spawn_offsetX, spawn_offsetY, size_offset, time, gravityX, gravityY, 0, 0, false, shape);
 		}
 	}
 
 	/**
 	 * Spawns a physics-based particle system with velocity and collision.
-	 * Creates particles that interact with obstacles and have initial velocity.
+	 * Creates particles that have initial velocity and may stop against the solid tiles of the level.
 	 *
 	 * @param num Number of particles to spawn
 	 * @param x X coordinate of spawn point
@@ -73,12 +81,12 @@ public class ParticleCreator {
 	 * @param gravityY Vertical gravity effect
 	 * @param velX Initial X velocity
 	 * @param velY Initial Y velocity
-	 * @param obstructions Collision areas for particles
+	 * @param collides Whether the particles stop against the solid tiles
 	 * @param shape Particle shape ('c' for circle, 's' for square)
 	 */
-	public void spawn(int num, double x, double y, Color[] color, int size, int offset, int spawn_offsetX, int spawn_offsetY, int size_offset, double time, double gravityX, double gravityY, double velX, double velY, Area obstructions, char shape) {
+	public void spawn(int num, double x, double y, Color[] color, int size, int offset, int spawn_offsetX, int spawn_offsetY, int size_offset, double time, double gravityX, double gravityY, double velX, double velY, boolean collides, char shape) {
 		for(int i = 0; i < num; i++) {
-			handler.addObject(new Particles(x, y, ID.Particles, handler, color, size, offset, spawn_offsetX, spawn_offsetY, size_offset, time, gravityX, gravityY, velX, velY, obstructions, shape));
+			particles.spawn(random, x, y, color, size, offset, spawn_offsetX, spawn_offsetY, size_offset, time, gravityX, gravityY, velX, velY, collides, shape);
 		}
 	}
 
@@ -95,11 +103,26 @@ public class ParticleCreator {
 	 * @param shape Particle shape ('c' for circle, 's' for square)
 	 */
 	public void spawn(double x, double y, Color color, int offset, int size, double time, char shape) {
-		Color[] c = {color};
-		for(int i = 0; i < 1; i++) {
-			handler.addObject(new Particles(x, y, ID.Particles, handler, c, size, offset, 1, 1, 1, time, 0, 0, 0, 0, new Area(), shape));
-		}
+		particles.spawn(random, x, y, single(color), size, offset, 1, 1, 1, time, 0, 0, 0, 0, false, shape);
+	}
+
+	/**
+	 * Gets the random stream of this emitter, for randomness that shapes its particles, such as spawn velocities.
+	 *
+	 * @return The random stream
+	 */
+	public SplittableRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * Gets a one-element color array holding a color, reusing the array of the previous call.
+	 *
+	 * @param color The color
+	 * @return An array holding only the color
+	 */
+	private Color[] single(Color color) {
+		singleColor[0] = color;
+		return singleColor;
 	}
-	
-	
 }
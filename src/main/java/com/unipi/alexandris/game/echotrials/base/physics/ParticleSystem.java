@@ -0,0 +1,666 @@
+package com.unipi.alexandris.game.echotrials.base.physics;
+
+import com.unipi.alexandris.game.echotrials.base.Game;
+import com.unipi.alexandris.game.echotrials.base.core.Camera;
+
+import java.awt.*;
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The ParticleSystem class simulates and draws every live particle of a handler.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Keeping particles in fixed-capacity primitive arrays, one array per property</li>
+ *   <li>Updating and drawing all particles in tight loops, without allocating per particle or per tick</li>
+ *   <li>Sharing colors through a palette, so a particle only stores a color index</li>
+ *   <li>Skipping particles outside the camera viewport when drawing</li>
+ *   <li>Sweeping colliding particles through the solid tiles of the level one axis at a time</li>
+ *   <li>Deterministic randomness: a seeded stream per system and emitter, and an xorshift state per particle</li>
+ *   <li>Updating large bursts in parallel on the common ForkJoin pool, above a tunable particle count</li>
+ *   <li>A particle budget, a spawn limit per tick and a level of detail that drops quality when frames run long</li>
+ * </ul>
+ * Expired particles are removed by moving the last particle into their slot, so the drawing order of
+ * particles is not kept. Spawns beyond the budget, the spawn limit or the capacity are dropped.
+ * <p>
+ * A particle's movement depends only on its emitter's stream and its own state, so a level seeded the same way
+ * replays the same particles, whether it is updated serially or in parallel. Dropped spawns still draw from the
+ * emitter's stream, so the level of detail never changes the randomness seen by the emitters.
+ * The drawing jitter is looked up in a precomputed table instead of drawing new random numbers every frame.
+ */
+public class ParticleSystem {
+
+	/** Maximum number of live particles. */
+	public static final int CAPACITY = 16384;
+
+	/** Shape code of square particles. */
+	public static final byte SQUARE = 0;
+
+	/** Shape code of circle particles. */
+	public static final byte CIRCLE = 1;
+
+	/** Margin in pixels around the viewport within which particles are still drawn. */
+	private static final int CULL_MARGIN = 64;
+
+	/** Number of entries in the jitter table, a power of two. */
+	private static final int JITTER_SIZE = 4096;
+
+	/** Mask turning a hash into a jitter table index. */
+	private static final int JITTER_MASK = JITTER_SIZE - 1;
+
+	/** Smallest number of particles a parallel update hands to a single task. */
+	private static final int GRAIN = 1024;
+
+	/** Highest level of detail; 0 is full quality. */
+	public static final int MAX_LOD = 3;
+
+	/** One spawn in this many is kept, per level of detail. */
+	private static final int[] LOD_KEEP = {1, 2, 3, 4};
+
+	/** Lifetime scale of new particles, per level of detail. */
+	private static final double[] LOD_LIFE = {1, 0.75, 0.5, 0.35};
+
+	/** Lowest level of detail at which particles are drawn without jitter. */
+	private static final int LOD_NO_JITTER = 2;
+
+	/** Number of frames the level of detail is held after it changes. */
+	private static final int LOD_HOLD = 30;
+
+	/** Uniform random values in [0, 65536), used as 16-bit fractions of a jitter range. */
+	private static final int[] JITTER = new SplittableRandom(0x6A09E667F3BCC909L).ints(JITTER_SIZE, 0, 1 << 16).toArray();
+
+	/** Position of every particle. */
+	private final double[] x = new double[CAPACITY], y = new double[CAPACITY];
+
+	/** Position of every particle before its last step, used to interpolate rendering. */
+	private final double[] prevX = new double[CAPACITY], prevY = new double[CAPACITY];
+
+	/** Velocity of every particle. */
+	private final double[] velX = new double[CAPACITY], velY = new double[CAPACITY];
+
+	/** Gravity of every particle, added to its velocity each tick until they are equal. */
+	private final double[] gravityX = new double[CAPACITY], gravityY = new double[CAPACITY];
+
+	/** Ticks lived by every particle. */
+	private final int[] age = new int[CAPACITY];
+
+	/** Lifetime of every particle in ticks. */
+	private final double[] life = new double[CAPACITY];
+
+	/** Base size of every particle. */
+	private final int[] size = new int[CAPACITY];
+
+	/** Random position offset range of every particle, applied each tick. */
+	private final int[] offset = new int[CAPACITY];
+
+	/** Random drawing offset range of every particle, horizontally and vertically. */
+	private final int[] spawnOffsetX = new int[CAPACITY], spawnOffsetY = new int[CAPACITY];
+
+	/** Random size variation range of every particle. */
+	private final int[] sizeOffset = new int[CAPACITY];
+
+	/** Palette index of the color of every particle. */
+	private final short[] color = new short[CAPACITY];
+
+	/** Shape code of every particle. */
+	private final byte[] shape = new byte[CAPACITY];
+
+	/** Xorshift state of every particle, never zero. */
+	private final int[] state = new int[CAPACITY];
+
+	/** Whether every particle collides with the solid tiles. */
+	private final boolean[] collides = new boolean[CAPACITY];
+
+	/** Tile grid of the current level that colliding particles stop against, or null if there is none. */
+	private TileCollisionWorld tiles;
+
+	/** Camera of the current level that particles are culled against, or null to cull against the origin. */
+	private Camera camera;
+
+	/** Colors referenced by the particles. */
+	private Color[] palette = new Color[16];
+
+	/** Number of colors in the palette. */
+	private int paletteSize = 0;
+
+	/** Number of live particles. */
+	private int count = 0;
+
+	/** Random stream the emitter streams are split from. */
+	private SplittableRandom random = new SplittableRandom(0);
+
+	/** Number of frames drawn, mixed into the jitter lookup. */
+	private int frame = 0;
+
+	/**
+	 * Number of live particles from which updates run in parallel.
+	 * Set with the "echotrials.particles.parallel" system property; 0 disables parallel updates.
+	 * {@link ParticleBenchmark} measures where parallel updates start to pay off on a machine.
+	 */
+	private int parallelThreshold = Integer.getInteger("echotrials.particles.parallel", 4096);
+
+	/**
+	 * Maximum number of live particles, up to {@link #CAPACITY}.
+	 * Set with the "echotrials.particles.budget" system property.
+	 */
+	private int budget = Math.min(CAPACITY, Integer.getInteger("echotrials.particles.budget", 8192));
+
+	/**
+	 * Maximum number of particles spawned in a single tick.
+	 * Set with the "echotrials.particles.spawnLimit" system property.
+	 */
+	private int spawnLimit = Integer.getInteger("echotrials.particles.spawnLimit", 512);
+
+	/**
+	 * Frame time in nanoseconds above which the level of detail is raised.
+	 * Set in milliseconds with the "echotrials.particles.frameBudget" system property.
+	 */
+	private long frameBudget = Long.getLong("echotrials.particles.frameBudget", 16L) * 1_000_000L;
+
+	/** Current level of detail, from 0 (full quality) to {@link #MAX_LOD}. */
+	private int lod = 0;
+
+	/** Frames left before the level of detail may change again. */
+	private int lodHold = 0;
+
+	/** Exponential moving average of the reported frame times in nanoseconds. */
+	private double averageFrameTime = 0;
+
+	/** Number of particles spawned since the last tick. */
+	private int spawnedThisTick = 0;
+
+	/** Number of spawn requests seen, used to thin out spawns at a reduced level of detail. */
+	private int spawnRequests = 0;
+
+	/** Total number of dropped spawns. */
+	private long droppedSpawns = 0;
+
+	/**
+	 * The Step class updates a range of particles, splitting it in halves until it is small enough.
+	 */
+	private final class Step extends RecursiveAction {
+		/** Serialization version UID for the Step class. */
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		/** First particle of the range. */
+		private final int from;
+
+		/** One past the last particle of the range. */
+		private final int to;
+
+		/**
+		 * Constructs a new Step over a range of particles.
+		 *
+		 * @param from First particle of the range
+		 * @param to One past the last particle of the range
+		 */
+		private Step(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from <= GRAIN) {
+				step(from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new Step(from, middle), new Step(middle, to));
+		}
+	}
+
+	/**
+	 * Reseeds the system. Emitters created afterward draw from streams split from the new seed.
+	 *
+	 * @param seed The seed
+	 */
+	public void seed(long seed) {
+		random = new SplittableRandom(seed);
+		frame = 0;
+	}
+
+	/**
+	 * Splits a new random stream for an emitter off the stream of the system.
+	 *
+	 * @return An independent random stream
+	 */
+	public SplittableRandom split() {
+		return random.split();
+	}
+
+	/**
+	 * Spawns a particle. A color is picked at random from the given colors, and the lifetime is a random
+	 * multiple of the given time. Particles whose lifetime is zero would never be drawn and are not spawned.
+	 * Every random choice, including the seed of the particle's own state, is drawn from the emitter's stream.
+	 * Offset ranges are assumed to stay well below 32768.
+	 * At a reduced level of detail only some spawns are kept, and they live shorter.
+	 * Spawns are dropped once the budget or the spawn limit of the tick is reached.
+	 *
+	 * @param random The random stream of the emitter
+	 * @param x X coordinate of the spawn point
+	 * @param y Y coordinate of the spawn point
+	 * @param colors Colors to pick from
+	 * @param size Base size of the particle
+	 * @param offset Random offset applied to the position each tick
+	 * @param spawnOffsetX Random horizontal offset applied when drawing
+	 * @param spawnOffsetY Random vertical offset applied when drawing
+	 * @param sizeOffset Random variation in size applied when drawing
+	 * @param time Lifetime multiplier
+	 * @param gravityX Horizontal gravity
+	 * @param gravityY Vertical gravity
+	 * @param velX Initial X velocity
+	 * @param velY Initial Y velocity
+	 * @param collides Whether the particle stops against the solid tiles
+	 * @param shape Particle shape ('c' for circle, 's' for square)
+	 * @return true if the particle was spawned, false if it was dropped
+	 */
+	public boolean spawn(SplittableRandom random, double x, double y, Color[] colors, int size, int offset, int spawnOffsetX, int spawnOffsetY, int sizeOffset,
+						 double time, double gravityX, double gravityY, double velX, double velY, boolean collides, char shape) {
+		Color c = colors[random.nextInt(colors.length)];
+		double life = random.nextInt(10) * Math.max(0, time) * LOD_LIFE[lod];
+		int seed = random.nextInt() | 1;
+		if(count >= budget || spawnedThisTick >= spawnLimit || spawnRequests++ % LOD_KEEP[lod] != 0) {
+			droppedSpawns++;
+			return false;
+		}
+		if(life <= 0) return true;
+		spawnedThisTick++;
+
+		int i = count++;
+		this.x[i] = x;
+		this.y[i] = y;
+		this.prevX[i] = x;
+		this.prevY[i] = y;
+		this.velX[i] = velX;
+		this.velY[i] = velY;
+		this.gravityX[i] = gravityX;
+		this.gravityY[i] = gravityY;
+		this.age[i] = 0;
+		this.life[i] = life;
+		this.size[i] = Math.max(0, size);
+		this.offset[i] = Math.max(1, offset);
+		this.spawnOffsetX[i] = Math.max(1, spawnOffsetX);
+		this.spawnOffsetY[i] = Math.max(1, spawnOffsetY);
+		this.sizeOffset[i] = Math.max(1, sizeOffset);
+		this.color[i] = colorIndex(c);
+		this.shape[i] = shape == 'c' ? CIRCLE : SQUARE;
+		this.collides[i] = collides;
+		this.state[i] = seed;
+		return true;
+	}
+
+	/**
+	 * Advances every particle by one tick and removes the ones whose lifetime is over.
+	 * The particles are updated in parallel once there are at least {@link #getParallelThreshold()} of them;
+	 * expired particles are then removed serially, so the result does not depend on how the update was split.
+	 */
+	public void tick() {
+		spawnedThisTick = 0;
+		if(parallelThreshold > 0 && count >= parallelThreshold && count > GRAIN) ForkJoinPool.commonPool().invoke(new Step(0, count));
+		else step(0, count);
+
+		int i = 0;
+		while(i < count) {
+			if(age[i] >= life[i]) remove(i);
+			else i++;
+		}
+	}
+
+	/**
+	 * Advances a range of particles by one tick. Only the particles of the range are written, so disjoint ranges
+	 * may be stepped concurrently.
+	 * A particle moves by its velocity plus a random offset and its velocity then approaches its gravity.
+	 * Colliding particles move horizontally and then vertically, stopping at the first solid tile on each axis
+	 * and losing their velocity along it.
+	 *
+	 * @param from First particle of the range
+	 * @param to One past the last particle of the range
+	 */
+	private void step(int from, int to) {
+		TileCollisionWorld tiles = this.tiles;
+		for(int i = from; i < to; i++) {
+			double half = offset[i] / 2.0;
+			int s = xorshift(state[i]);
+			double dx = bounded(s, offset[i]) - half + velX[i];
+			s = xorshift(s);
+			double dy = bounded(s, offset[i]) - half + velY[i];
+			state[i] = s;
+			prevX[i] = x[i];
+			prevY[i] = y[i];
+
+			if(collides[i] && tiles != null) {
+				int side = Math.max(1, size[i]);
+				double nx = sweepX(tiles, x[i], y[i], dx, side);
+				if(nx != x[i] + dx) velX[i] = 0;
+				x[i] = nx;
+				double ny = sweepY(tiles, x[i], y[i], dy, side);
+				if(ny != y[i] + dy) velY[i] = 0;
+				y[i] = ny;
+			}
+			else {
+				x[i] += dx;
+				y[i] += dy;
+			}
+
+			if(velX[i] != gravityX[i]) velX[i] += gravityX[i];
+			if(velY[i] != gravityY[i]) velY[i] += gravityY[i];
+			age[i]++;
+		}
+	}
+
+	/**
+	 * Draws every live particle inside the camera viewport, with a random position and size variation.
+	 * The variation is looked up in the jitter table at a position hashed from the particle state and the frame,
+	 * and is skipped at a reduced level of detail.
+	 *
+	 * @param g The Graphics context to render to, in level coordinates
+	 */
+	public void render(Graphics g) {
+		render(g, 1);
+	}
+
+	/**
+	 * Draws every live particle between its previous and current tick.
+	 *
+	 * @param g The Graphics context to render to, in level coordinates
+	 * @param alpha Time elapsed since the current tick, as a fraction of a tick
+	 * @see #render(Graphics)
+	 */
+	public void render(Graphics g, double alpha) {
+		double left = (camera == null ? 0 : camera.getX(alpha)) - CULL_MARGIN;
+		double top = (camera == null ? 0 : camera.getY(alpha)) - CULL_MARGIN;
+		double right = left + Game.WIDTH + 2 * CULL_MARGIN;
+		double bottom = top + Game.HEIGHT + 2 * CULL_MARGIN;
+
+		int salt = ++frame * 0x9E3779B9;
+		boolean jitter = lod < LOD_NO_JITTER;
+		int current = -1;
+		for(int i = 0; i < count; i++) {
+			double px0 = prevX[i] + (x[i] - prevX[i]) * alpha;
+			double py0 = prevY[i] + (y[i] - prevY[i]) * alpha;
+			if(px0 < left || px0 > right || py0 < top || py0 > bottom) continue;
+			if(color[i] != current) {
+				current = color[i];
+				g.setColor(palette[current]);
+			}
+			if(!jitter) {
+				if(shape[i] == CIRCLE) g.fillOval((int) px0, (int) py0, size[i], size[i]);
+				else g.fillRect((int) px0, (int) py0, size[i], size[i]);
+				continue;
+			}
+			int j = xorshift(state[i] ^ salt);
+			int px = (int) px0 + (JITTER[j & JITTER_MASK] * spawnOffsetX[i] >>> 16) - spawnOffsetX[i] / 2;
+			int py = (int) py0 + (JITTER[(j + 1) & JITTER_MASK] * spawnOffsetY[i] >>> 16) - spawnOffsetY[i] / 2;
+			int w = size[i] + (JITTER[(j + 2) & JITTER_MASK] * sizeOffset[i] >>> 16) - sizeOffset[i] / 2;
+			int h = size[i] + (JITTER[(j + 3) & JITTER_MASK] * sizeOffset[i] >>> 16) - sizeOffset[i] / 2;
+			if(shape[i] == CIRCLE) g.fillOval(px, py, w, h);
+			else g.fillRect(px, py, w, h);
+		}
+	}
+
+	/**
+	 * Removes every particle. The palette is kept.
+	 */
+	public void clear() {
+		count = 0;
+	}
+
+	/**
+	 * Reports how long the last frame took, adjusting the level of detail.
+	 * The level is raised while the average frame time is over the frame budget and lowered once it is
+	 * comfortably below it, holding every change for a number of frames to avoid flickering between levels.
+	 *
+	 * @param nanos Duration of the last frame in nanoseconds
+	 */
+	public void reportFrameTime(long nanos) {
+		averageFrameTime += (nanos - averageFrameTime) / 8;
+		if(lodHold > 0) {
+			lodHold--;
+			return;
+		}
+		if(averageFrameTime > frameBudget && lod < MAX_LOD) {
+			lod++;
+			lodHold = LOD_HOLD;
+		}
+		else if(averageFrameTime < frameBudget * 0.6 && lod > 0) {
+			lod--;
+			lodHold = LOD_HOLD;
+		}
+	}
+
+	/**
+	 * Gets the current level of detail.
+	 *
+	 * @return The level of detail, from 0 (full quality) to {@link #MAX_LOD}
+	 */
+	public int getLod() {
+		return lod;
+	}
+
+	/**
+	 * Gets the average of the reported frame times.
+	 *
+	 * @return The average frame time in nanoseconds
+	 */
+	public double getAverageFrameTime() {
+		return averageFrameTime;
+	}
+
+	/**
+	 * Gets the total number of spawns dropped because of the budget, the spawn limit or the level of detail.
+	 *
+	 * @return The number of dropped spawns
+	 */
+	public long getDroppedSpawns() {
+		return droppedSpawns;
+	}
+
+	/**
+	 * Gets the maximum number of live particles.
+	 *
+	 * @return The particle budget
+	 */
+	public int getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Sets the maximum number of live particles.
+	 *
+	 * @param budget The particle budget, capped at {@link #CAPACITY}
+	 */
+	public void setBudget(int budget) {
+		this.budget = Math.max(0, Math.min(CAPACITY, budget));
+	}
+
+	/**
+	 * Gets the maximum number of particles spawned in a single tick.
+	 *
+	 * @return The spawn limit
+	 */
+	public int getSpawnLimit() {
+		return spawnLimit;
+	}
+
+	/**
+	 * Sets the maximum number of particles spawned in a single tick.
+	 *
+	 * @param spawnLimit The spawn limit
+	 */
+	public void setSpawnLimit(int spawnLimit) {
+		this.spawnLimit = Math.max(0, spawnLimit);
+	}
+
+	/**
+	 * Gets the number of live particles from which updates run in parallel.
+	 *
+	 * @return The parallel threshold, or 0 if updates are always serial
+	 */
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	/**
+	 * Sets the number of live particles from which updates run in parallel.
+	 *
+	 * @param parallelThreshold The parallel threshold, or 0 to always update serially
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = Math.max(0, parallelThreshold);
+	}
+
+	/**
+	 * Sets the tile grid colliding particles stop against.
+	 *
+	 * @param tiles The tile grid of the current level, or null to let every particle pass through
+	 */
+	public void setTiles(TileCollisionWorld tiles) {
+		this.tiles = tiles;
+	}
+
+	/**
+	 * Sets the camera particles are culled against.
+	 *
+	 * @param camera The camera of the current level
+	 */
+	public void setCamera(Camera camera) {
+		this.camera = camera;
+	}
+
+	/**
+	 * Gets the number of live particles.
+	 *
+	 * @return The number of live particles
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Removes a particle by moving the last particle into its slot.
+	 *
+	 * @param i The slot of the particle
+	 */
+	private void remove(int i) {
+		int last = --count;
+		if(i != last) {
+			x[i] = x[last];
+			y[i] = y[last];
+			prevX[i] = prevX[last];
+			prevY[i] = prevY[last];
+			velX[i] = velX[last];
+			velY[i] = velY[last];
+			gravityX[i] = gravityX[last];
+			gravityY[i] = gravityY[last];
+			age[i] = age[last];
+			life[i] = life[last];
+			size[i] = size[last];
+			offset[i] = offset[last];
+			spawnOffsetX[i] = spawnOffsetX[last];
+			spawnOffsetY[i] = spawnOffsetY[last];
+			sizeOffset[i] = sizeOffset[last];
+			color[i] = color[last];
+			shape[i] = shape[last];
+			collides[i] = collides[last];
+			state[i] = state[last];
+		}
+	}
+
+	/**
+	 * Advances an xorshift state.
+	 *
+	 * @param s The state, not zero
+	 * @return The next state
+	 */
+	private static int xorshift(int s) {
+		s ^= s << 13;
+		s ^= s >>> 17;
+		s ^= s << 5;
+		return s;
+	}
+
+	/**
+	 * Maps a random state to [0, bound).
+	 *
+	 * @param s The state
+	 * @param bound The exclusive upper bound, positive
+	 * @return A value in [0, bound)
+	 */
+	private static int bounded(int s, int bound) {
+		return (int) (((s & 0xFFFFFFFFL) * bound) >>> 32);
+	}
+
+	/**
+	 * Moves a square horizontally, visiting every column its leading edge enters.
+	 *
+	 * @param tiles The tile grid
+	 * @param x Left edge of the square
+	 * @param y Top edge of the square
+	 * @param d Horizontal displacement
+	 * @param s Size of the square
+	 * @return The new left edge: x + d, or the position touching the first solid column
+	 */
+	private static double sweepX(TileCollisionWorld tiles, double x, double y, double d, int s) {
+		int tile = tiles.getTileSize();
+		if(d > 0) {
+			int last = (int) Math.ceil((x + s + d) / tile) - 1;
+			for(int c = (int) Math.ceil((x + s) / tile); c <= last; c++) {
+				if(tiles.overlaps(TileCollisionWorld.SOLID, c * tile, y, tile, s)) return Math.max(x, c * tile - s);
+			}
+		}
+		else if(d < 0) {
+			int last = (int) Math.floor((x + d) / tile);
+			for(int c = (int) Math.floor(x / tile) - 1; c >= last; c--) {
+				if(tiles.overlaps(TileCollisionWorld.SOLID, c * tile, y, tile, s)) return Math.min(x, (c + 1) * tile);
+			}
+		}
+		return x + d;
+	}
+
+	/**
+	 * Moves a square vertically, visiting every row its leading edge enters.
+	 *
+	 * @param tiles The tile grid
+	 * @param x Left edge of the square
+	 * @param y Top edge of the square
+	 * @param d Vertical displacement
+	 * @param s Size of the square
+	 * @return The new top edge: y + d, or the position touching the first solid row
+	 */
+	private static double sweepY(TileCollisionWorld tiles, double x, double y, double d, int s) {
+		int tile = tiles.getTileSize();
+		if(d > 0) {
+			int last = (int) Math.ceil((y + s + d) / tile) - 1;
+			for(int r = (int) Math.ceil((y + s) / tile); r <= last; r++) {
+				if(tiles.overlaps(TileCollisionWorld.SOLID, x, r * tile, s, tile)) return Math.max(y, r * tile - s);
+			}
+		}
+		else if(d < 0) {
+			int last = (int) Math.floor((y + d) / tile);
+			for(int r = (int) Math.floor(y / tile) - 1; r >= last; r--) {
+				if(tiles.overlaps(TileCollisionWorld.SOLID, x, r * tile, s, tile)) return Math.min(y, (r + 1) * tile);
+			}
+		}
+		return y + d;
+	}
+
+	/**
+	 * Gets the palette index of a color, adding the color to the palette if needed.
+	 *
+	 * @param c The color
+	 * @return The palette index of the color
+	 */
+	private short colorIndex(Color c) {
+		for(int i = 0; i < paletteSize; i++) {
+			if(palette[i] == c || palette[i].equals(c)) return (short) i;
+		}
+		if(paletteSize == palette.length) palette = Arrays.copyOf(palette, paletteSize * 2);
+		palette[paletteSize] = c;
+		return (short) paletteSize++;
+	}
+}
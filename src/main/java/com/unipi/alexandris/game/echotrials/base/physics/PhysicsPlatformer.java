@@ -1,11 +1,7 @@
 package com.unipi.alexandris.game.echotrials.base.physics;
 
-import com.unipi.alexandris.game.echotrials.base.Game;
 import com.unipi.alexandris.game.echotrials.base.loaders.SoundFXLoader;
 
-import java.awt.*;
-import java.awt.geom.Area;
-
 /**
  * The PhysicsPlatformer class handles physics simulation for platforming mechanics.
  * It manages:
@@ -27,11 +23,8 @@ public class PhysicsPlatformer {
 	/** Current velocity components. */
 	private double velx = 0, vely = 0;
 	
-	/** Return array for movement physics calculations. */
-	private final double[] ret = new double[4];
-	
-	/** Return array for swimming physics calculations. */
-	private final double[] ret2 = new double[5];
+	/** Reusable result of the movement and swimming physics calculations. */
+	private final Result result = new Result();
 	
 	/** Horizontal movement speed. */
 	private double speedX = 5;
@@ -90,7 +83,7 @@ public class PhysicsPlatformer {
 	 * Calculates movement physics for platforming.
 	 * Handles collision detection, wall-jumping, and surface effects.
 	 *
-	 * @param block Collision area for solid blocks
+	 * @param world Collision geometry of the level
 	 * @param width Object width
 	 * @param height Object height
 	 * @param x Current X position
@@ -99,88 +92,86 @@ public class PhysicsPlatformer {
 	 * @param s Down input
 	 * @param a Left input
 	 * @param d Right input
-	 * @return Array containing [new X, new Y, X velocity, Y velocity]
+	 * @return The reusable result holding the new position and velocity
 	 */
-	public double[] movementPhysics(Area block, double width, double height, double x, double y, boolean w, boolean s, boolean a, boolean d) {
+	public Result movementPhysics(CollisionWorld world, double width, double height, double x, double y, boolean w, boolean s, boolean a, boolean d) {
 		
 		if(width < 5) width = 5;
 		if(height < 5) height = 5;
-		Area up = new Area(getRectangle(x - 3, y - 8 + vely, width + 6, 5 - vely));
-		Area down = new Area(getRectangle(x - 3, y + height - 1, width + 6, 2 + vely));
-		Area left = new Area(getRectangle(x - 8, y + 2, 5, height - 4));
-		Area right = new Area(getRectangle(x + width + 3, y + 2, 5, height - 4));
+		// Probe edges are truncated to whole pixels, and all probes are taken before the velocity is updated.
+		int downX = (int) (x - 3), downY = (int) (y + height - 1), downW = (int) (width + 6), downH = (int) (2 + vely);
+		int leftX = (int) (x - 8), rightX = (int) (x + width + 3), sideY = (int) (y + 2), sideH = (int) (height - 4);
+		boolean upHit = world.overlapsSolid((int) (x - 3), (int) (y - 8 + vely), (int) (width + 6), (int) (5 - vely));
+		boolean downHit = world.overlapsSolid(downX, downY, downW, downH);
+		boolean leftHit = world.overlapsSolid(leftX, sideY, 5, sideH);
+		boolean rightHit = world.overlapsSolid(rightX, sideY, 5, sideH);
 		
 		if(gravity >= 0) {
-			up.intersect(block);
-			if (!up.isEmpty()) {
+			if (upHit) {
 				vely = 2;
 			}
 
-			assertGravity(block, w, down, up);
+			assertGravity(w, downHit, upHit);
 		}
 		else {
-			down.intersect(block);
-			if (!down.isEmpty()) {
+			if (downHit) {
 				vely = -2;
 			}
 
-			assertGravity(block, w, up, down);
+			assertGravity(w, upHit, downHit);
 		}
 
+		boolean iceDown = world.overlapsIce(downX, downY, downW, downH);
+		boolean rockDown = world.overlapsBlock(downX, downY, downW, downH);
+		boolean iceLeft = world.overlapsIce(leftX, sideY, 5, sideH);
+		boolean iceRight = world.overlapsIce(rightX, sideY, 5, sideH);
 		if(speedX >= 0) {
-			walk(block, w, d, a, up, down, left, right, -speedX, speedX);
+			walk(w, d, a, upHit, downHit, leftHit, rightHit, iceDown, rockDown, iceLeft, iceRight, -speedX, speedX);
 		}
 		else {
-			walk(block, w, a, d, up, down, left, right, speedX, -speedX);
+			walk(w, a, d, upHit, downHit, leftHit, rightHit, iceDown, rockDown, iceLeft, iceRight, speedX, -speedX);
 		}
 		
-		ret[0] = x + velx;
-		ret[1] = y + vely / 2;
-		ret[2] = velx;
-		ret[3] = vely;
+		result.x = x + velx;
+		result.y = y + vely / 2;
+		result.velX = velx;
+		result.velY = vely;
 		
-		return ret;
+		return result;
 	}
 
 	/**
 	 * Helper method for handling walking and wall-jumping mechanics.
 	 * Manages movement on different surfaces and wall interactions.
 	 *
-	 * @param block Collision area for solid blocks
 	 * @param w Up/jump input
 	 * @param a Left input
 	 * @param d Right input
-	 * @param up Upper collision area
-	 * @param down Lower collision area
-	 * @param left Left collision area
-	 * @param right Right collision area
+	 * @param upHit Whether the upper probe touches a solid
+	 * @param downHit Whether the lower probe touches a solid
+	 * @param leftHit Whether the left probe touches a solid
+	 * @param rightHit Whether the right probe touches a solid
+	 * @param iceDown Whether the lower probe touches ice
+	 * @param rockDown Whether the lower probe touches a regular block
+	 * @param iceLeft Whether the left probe touches ice
+	 * @param iceRight Whether the right probe touches ice
 	 * @param speedX Movement speed in X direction
 	 * @param v Velocity value
 	 */
-	private void walk(Area block, boolean w, boolean a, boolean d, Area up, Area down, Area left, Area right, double speedX, double v) {
-		Area iceDown = new Area(down);
-		Area iceLeft = new Area(left);
-		iceLeft.intersect(Game.ice);
-		Area iceRight = new Area(right);
-		iceRight.intersect(Game.ice);
-		Area rockDown = new Area(down);
-		rockDown.intersect(Game.block);
-		iceDown.intersect(Game.ice);
+	private void walk(boolean w, boolean a, boolean d, boolean upHit, boolean downHit, boolean leftHit, boolean rightHit,
+					  boolean iceDown, boolean rockDown, boolean iceLeft, boolean iceRight, double speedX, double v) {
 		if (d) {
-			left.intersect(block);
-			if (!left.isEmpty()) {
+			if (leftHit) {
 				velx = 0;
 
 				if(gravity > 0) {
-					up.intersect(block);
-					if (w && up.isEmpty() && wjl && iceLeft.isEmpty()) {
+					if (w && !upHit && wjl && !iceLeft) {
 						vely = -(speedY - 0.1 * speedY);
 						wjl = false;
 					}
 				}
 				else {
-					down.intersect(block);
-					if (w && down.isEmpty() && wjl && iceLeft.isEmpty()) {
+					if (w && !downHit && wjl && !iceLeft) {
 						vely = -(speedY - 0.1 * speedY);
 						wjl = false;
 					}
@@ -190,20 +181,17 @@ public class PhysicsPlatformer {
 				velx = speedX;
 			}
 		} else if (a) {
-			right.intersect(block);
-			if (!right.isEmpty()) {
+			if (rightHit) {
 				velx = 0;
 
 				if(gravity > 0) {
-					up.intersect(block);
-					if (w && up.isEmpty() && wjr && iceRight.isEmpty()) {
+					if (w && !upHit && wjr && !iceRight) {
 						vely = -(speedY - 0.1 * speedY);
 						wjr = false;
 					}
 				}
 				else {
-					down.intersect(block);
-					if (w && down.isEmpty() && wjr && iceRight.isEmpty()) {
+					if (w && !downHit && wjr && !iceRight) {
 						vely = -(speedY - 0.1 * speedY);
 						wjr = false;
 					}
@@ -213,14 +201,12 @@ public class PhysicsPlatformer {
 				velx = v;
 			}
 		} else {
-			left.intersect(block);
-			right.intersect(block);
-			if (Math.abs(velx) > 0.25 && left.isEmpty() && right.isEmpty()) {
-				if (!iceDown.isEmpty()) {
+			if (Math.abs(velx) > 0.25 && !leftHit && !rightHit) {
+				if (iceDown) {
 					velx += 0.0085 * velx;
 					jumpedFromIce = true;
 				}
-				if(!rockDown.isEmpty()) jumpedFromIce = false;
+				if(rockDown) jumpedFromIce = false;
 				if(jumpedFromIce) {
 					velx -= 0.01 * velx;
 				}
@@ -236,21 +222,18 @@ public class PhysicsPlatformer {
 	 * Helper method for handling gravity and jumping mechanics.
 	 * Manages vertical movement and jump sound effects.
 	 *
-	 * @param block Collision area for solid blocks
 	 * @param w Up/jump input
-	 * @param a First collision area to check
-	 * @param b Second collision area to check
+	 * @param aHit Whether the probe in the direction of gravity touches a solid
+	 * @param bHit Whether the probe against the direction of gravity touches a solid
 	 */
-	private void assertGravity(Area block, boolean w, Area a, Area b) {
-		a.intersect(block);
-		if (a.isEmpty()) {
+	private void assertGravity(boolean w, boolean aHit, boolean bHit) {
+		if (!aHit) {
 			vely += gravity;
 		} else {
 			wjl = true;
 			wjr = true;
 			vely = 0;
-			b.intersect(block);
-			if (w && b.isEmpty()) {
+			if (w && !bHit) {
 				vely = -speedY;
 				if(soundFXLoader != null) {
 					soundFXLoader.playSound(jumpSoundPath);
@@ -263,8 +246,7 @@ public class PhysicsPlatformer {
 	 * Calculates physics for swimming movement.
 	 * Handles buoyancy, water resistance, and underwater controls.
 	 *
-	 * @param block Collision area for solid blocks
-	 * @param water Collision area for water
+	 * @param world Collision geometry of the level
 	 * @param width Object width
 	 * @param height Object height
 	 * @param x Current X position
@@ -273,30 +255,27 @@ public class PhysicsPlatformer {
 	 * @param s Down input
 	 * @param a Left input
 	 * @param d Right input
-	 * @return Array containing [new X, new Y, X velocity, Y velocity]
+	 * @return The reusable result holding the new position and velocity,
+	 *         left unchanged from the last calculation if the object is not in water
 	 */
-	public double[] swimmingPhysics(Area block, Area water, double width, double height, double x, double y, boolean w, boolean s, boolean a, boolean d) {
+	public Result swimmingPhysics(CollisionWorld world, double width, double height, double x, double y, boolean w, boolean s, boolean a, boolean d) {
 
 		if(width < 2) width = 2;
 		if(height < 4) height = 4;
-		Area player = new Area(getRectangle((int) x, (int) y, width + 2, height + 2));
-		Area down = new Area(getRectangle(x - 2, y + height - 1, width + 4, 2 + vely));
-		Area left = new Area(getRectangle(x - 8, y + 2, 5, height - 4));
-		Area right = new Area(getRectangle(x + width + 3, y + 2, 5, height - 4));
+		int sideY = (int) (y + 2), sideH = (int) (height - 4);
+		boolean inWater = world.overlapsWater((int) x, (int) y, (int) (width + 2), (int) (height + 2));
+		boolean downHit = world.overlapsSolid((int) (x - 2), (int) (y + height - 1), (int) (width + 4), (int) (2 + vely));
+		boolean leftHit = world.overlapsSolid((int) (x - 8), sideY, 5, sideH);
+		boolean rightHit = world.overlapsSolid((int) (x + width + 3), sideY, 5, sideH);
 		
-		player.intersect(water);
-		down.intersect(block);
-		left.intersect(block);
-		right.intersect(block);
 		
-		
-		if(!player.isEmpty()) {
+		if(inWater) {
 			
 			wjl = true;
 			wjr = true;
 			
-			if(!left.isEmpty() && w && a) y += 4;
-			if(!right.isEmpty() && w && d) y += 4;
+			if(leftHit && w && a) y += 4;
+			if(rightHit && w && d) y += 4;
 			
 			if(w) vely = -5;
 			else vely = 1;
@@ -304,16 +283,27 @@ public class PhysicsPlatformer {
 			if(a) velx = 1;
 			else if(d) velx = -1;
 			
-			if(s && down.isEmpty()) vely = 5;
+			if(s && !downHit) vely = 5;
 			
 			
-			ret[0] = x + velx;
-			ret[1] = y + vely / 3;
-			ret[2] = -velx;
-			ret[3] = -vely;
+			result.x = x + velx;
+			result.y = y + vely / 3;
+			result.velX = -velx;
+			result.velY = -vely;
 		}
 		
-		return ret;
+		return result;
+	}
+
+	/**
+	 * Resets the velocity and jump state, as if the object had just been created.
+	 */
+	public void reset() {
+		velx = 0;
+		vely = 0;
+		wjl = true;
+		wjr = true;
+		jumpedFromIce = false;
 	}
 
 	/**
@@ -331,19 +321,25 @@ public class PhysicsPlatformer {
 		double b = y2 - l * x2;
 		return l * x + b;
 	}
-	
+
 	/**
-	 * Creates a Rectangle with the specified dimensions.
-	 * Helper method for collision area creation.
-	 *
-	 * @param a X coordinate
-	 * @param b Y coordinate
-	 * @param c Width
-	 * @param d Height
-	 * @return Rectangle with the specified dimensions
+	 * The Result class holds the outcome of a physics calculation.
+	 * A single instance is owned by each PhysicsPlatformer and overwritten by every calculation,
+	 * so callers read the values they need before the next calculation.
 	 */
-	public Rectangle getRectangle(double a, double b, double c, double d) {
-		return new Rectangle((int) a,(int) b, (int) c, (int) d);
+	public static final class Result {
+
+		/** New X position. */
+		public double x;
+
+		/** New Y position. */
+		public double y;
+
+		/** Horizontal velocity. */
+		public double velX;
+
+		/** Vertical velocity. */
+		public double velY;
 	}
-	
+
 }
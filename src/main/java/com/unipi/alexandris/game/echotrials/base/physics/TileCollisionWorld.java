@@ -0,0 +1,124 @@
+package com.unipi.alexandris.game.echotrials.base.physics;
+
+/**
+ * The TileCollisionWorld class answers collision queries with a primitive tile bitmask.
+ * It provides:
+ * <ul>
+ *   <li>One byte per map cell holding block, ice and water bits</li>
+ *   <li>Allocation-free rectangle queries that only visit the cells under the rectangle</li>
+ *   <li>Solid queries combining the tiles with the kinematic colliders</li>
+ * </ul>
+ * The bitmask is built from the level's background map, where 'b' marks a block,
+ * 'i' marks ice and 'w' marks water.
+ */
+public class TileCollisionWorld implements CollisionWorld {
+
+	/** Cell bit for regular blocks. */
+	public static final byte BLOCK = 1;
+
+	/** Cell bit for ice blocks. */
+	public static final byte ICE = 2;
+
+	/** Cell bit for water blocks. */
+	public static final byte WATER = 4;
+
+	/** Cell bits counted as solid. */
+	public static final byte SOLID = BLOCK | ICE;
+
+	/** Cell bits, stored column by column. */
+	private final byte[] cells;
+
+	/** Number of columns in the map. */
+	private final int columns;
+
+	/** Number of rows in the map. */
+	private final int rows;
+
+	/** Size of a cell in pixels. */
+	private final int tileSize;
+
+	/** Kinematic solid boxes. */
+	private final DynamicColliders colliders;
+
+	/**
+	 * Constructs a new TileCollisionWorld from a level's background map.
+	 *
+	 * @param map The background map, indexed as map[column][row]
+	 * @param tileSize Size of a cell in pixels
+	 * @param colliders Kinematic solid boxes
+	 */
+	public TileCollisionWorld(char[][] map, int tileSize, DynamicColliders colliders) {
+		int rows = 0;
+		for(char[] column : map) rows = Math.max(rows, column.length);
+		this.columns = map.length;
+		this.rows = rows;
+		this.tileSize = tileSize;
+		this.colliders = colliders;
+		this.cells = new byte[columns * rows];
+		for(int i = 0; i < map.length; i++) {
+			for(int j = 0; j < map[i].length; j++) {
+				cells[i * rows + j] = switch(map[i][j]) {
+					case 'b' -> BLOCK;
+					case 'i' -> ICE;
+					case 'w' -> WATER;
+					default -> 0;
+				};
+			}
+		}
+	}
+
+	@Override
+	public boolean overlapsSolid(double x, double y, double width, double height) {
+		return overlaps(SOLID, x, y, width, height) || colliders.intersects(x, y, width, height);
+	}
+
+	@Override
+	public boolean overlapsBlock(double x, double y, double width, double height) {
+		return overlaps(BLOCK, x, y, width, height);
+	}
+
+	@Override
+	public boolean overlapsIce(double x, double y, double width, double height) {
+		return overlaps(ICE, x, y, width, height);
+	}
+
+	@Override
+	public boolean overlapsWater(double x, double y, double width, double height) {
+		return overlaps(WATER, x, y, width, height);
+	}
+
+	/**
+	 * Gets the size of a cell.
+	 *
+	 * @return The size of a cell in pixels
+	 */
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	/**
+	 * Tests whether a rectangle overlaps the interior of a cell holding any of the given bits.
+	 * Cells outside the map are empty.
+	 *
+	 * @param mask The cell bits to look for
+	 * @param x Left edge of the rectangle
+	 * @param y Top edge of the rectangle
+	 * @param width Width of the rectangle
+	 * @param height Height of the rectangle
+	 * @return true if a cell under the rectangle holds one of the bits, false otherwise
+	 */
+	public boolean overlaps(byte mask, double x, double y, double width, double height) {
+		if(width <= 0 || height <= 0) return false;
+		int firstColumn = Math.max(0, (int) Math.floor(x / tileSize));
+		int lastColumn = Math.min(columns - 1, (int) Math.ceil((x + width) / tileSize) - 1);
+		int firstRow = Math.max(0, (int) Math.floor(y / tileSize));
+		int lastRow = Math.min(rows - 1, (int) Math.ceil((y + height) / tileSize) - 1);
+		for(int i = firstColumn; i <= lastColumn; i++) {
+			int column = i * rows;
+			for(int j = firstRow; j <= lastRow; j++) {
+				if((cells[column + j] & mask) != 0) return true;
+			}
+		}
+		return false;
+	}
+}
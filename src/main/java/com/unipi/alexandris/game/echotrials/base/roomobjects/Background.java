@@ -3,76 +3,48 @@ package com.unipi.alexandris.game.echotrials.base.roomobjects;
 import com.unipi.alexandris.game.echotrials.base.core.ID;
 
 import java.awt.*;
-import java.awt.geom.Area;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.Random;
 
 /**
  * Manages the game's background layer and parallax scrolling effects.
  * Provides visual depth through layered background images.
  * Supports camera-based movement and scaling.
  */
-public class Background extends GameObject {
-
-	BufferedImage background;
-	ArrayList<char[][]> maps;
-	ArrayList<BufferedImage> images;
-
-
-	public Background(int x, int y, ID id, ArrayList<BufferedImage> images, ArrayList<char[][]> maps, int multiplier, int width, int height) {
-		super(x, y, id);
-		this.maps = maps;
-		this.images = images;
-		background = new BufferedImage(width * multiplier, height * multiplier, BufferedImage.TYPE_INT_RGB);
-		Random r = new Random();
-
-		Graphics g = background.getGraphics();
-		for(char[][] map : maps) {
-			for(int i = 0; i < map.length; i++) {
-				for(int j = 0; j < map[i].length; j++) {
-					int rW = r.nextInt(-2,2);
-					int rH =  r.nextInt(-2,2);
-					if(rW == 0) rW = 1;
-					if(rH == 0) rH = 1;
-					int adjX = 0;
-					int adjY = 0;
-					if(rW < 0) adjX = -rW*multiplier;
-					if(rH < 0) adjY = -rH*multiplier;
-					if(map[i][j] == 'g') g.drawImage(images.get(3), i * multiplier + adjX, j * multiplier+adjY, rW*multiplier, rH*multiplier, null);
-				}
-			}
-		}
-		g.dispose();
-	}
+public class Background extends TileLayer {
 
 	/**
-	 * Updates background position based on camera movement.
-	 * Applies parallax scrolling effect.
+	 * Creates a new background layer with specified properties.
+	 * @param x Starting X coordinate
+	 * @param y Starting Y coordinate
+	 * @param id Object identifier
+	 * @param images Collection of tile textures
+	 * @param maps Collection of tile maps
+	 * @param multiplier Size multiplier for tiles
+	 * @param width Level width in tiles
+	 * @param height Level height in tiles
+	 * @param seed Seed of the tile size variation
 	 */
-	@Override
-	public void tick() {
-		// TODO Auto-generated method stub
+	public Background(int x, int y, ID id, ArrayList<BufferedImage> images, ArrayList<char[][]> maps, int multiplier, int width, int height, long seed) {
+		super(x, y, id, images, maps, multiplier, width, height, BufferedImage.TYPE_INT_RGB, -2, 2, seed);
 	}
 
 	/**
-	 * Renders the background layer.
-	 * @param g Graphics context
+	 * Draws a background tile, scaled and mirrored by its size variation.
+	 * @param g Graphics context of the chunk
+	 * @param tile The tile character
+	 * @param tileX Left edge of the tile's cell in pixels
+	 * @param tileY Top edge of the tile's cell in pixels
+	 * @param rW Horizontal size variation of the tile
+	 * @param rH Vertical size variation of the tile
 	 */
 	@Override
-	public void render(Graphics g) {
-		g.drawImage(background, 0, 0, null);
-	}
-
-	/**
-	 * Gets background's collision bounds.
-	 * Currently unused as background has no collision.
-	 * @return null as no collision is needed
-	 */
-	@Override
-	public Rectangle getBounds() {
-		// TODO Auto-generated method stub
-		return null;
+	protected void drawTile(Graphics g, char tile, int tileX, int tileY, int rW, int rH) {
+		int adjX = 0;
+		int adjY = 0;
+		if(rW < 0) adjX = -rW*multiplier;
+		if(rH < 0) adjY = -rH*multiplier;
+		if(tile == 'g') g.drawImage(images.get(3), tileX + adjX, tileY + adjY, rW*multiplier, rH*multiplier, null);
 	}
 
 	/**
@@ -86,15 +58,4 @@ public class Background extends GameObject {
 		return null;
 	}
 
-	/**
-	 * Gets background's collision area.
-	 * Currently unused as background has no collision.
-	 * @return null as no collision is needed
-	 */
-	@Override
-	public Area getArea() {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
 }
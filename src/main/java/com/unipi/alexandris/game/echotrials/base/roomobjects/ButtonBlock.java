@@ -24,8 +24,8 @@ public class ButtonBlock extends GameObject {
 		SIZE
 	}
 
-	/** Handler for button trigger events */
-	private final TriggerHandler handler;
+	/** Capability for scheduling the button effect */
+	private final TriggerHandler.Scheduler scheduler;
 
 	/** Array of button state images */
 	private final BufferedImage[] image;
@@ -50,14 +50,14 @@ public class ButtonBlock extends GameObject {
 	 * @param x X coordinate
 	 * @param y Y coordinate
 	 * @param id Object identifier
-	 * @param handler Trigger event handler
+	 * @param scheduler Trigger task scheduling capability
 	 * @param buttonMovementSetting Movement modification settings
 	 */
-	public ButtonBlock(int x, int y, ID id, TriggerHandler handler, TriggerHandler.ButtonMovementSetting buttonMovementSetting) {
+	public ButtonBlock(int x, int y, ID id, TriggerHandler.Scheduler scheduler, TriggerHandler.ButtonMovementSetting buttonMovementSetting) {
 		super(x, y, id);
 		size = 48;
-		this.handler = handler;
-		this.targetedPlayer = Game.player;
+		this.scheduler = scheduler;
+		this.targetedPlayer = scheduler.getSession().player;
 		this.type = buttonMovementSetting.type();
 		this.image = Game.gameImages.buttonBlockImages();
 		this.buttonMovementSetting = buttonMovementSetting;
@@ -68,14 +68,14 @@ public class ButtonBlock extends GameObject {
 	 * @param x X coordinate
 	 * @param y Y coordinate
 	 * @param id Object identifier
-	 * @param handler Trigger event handler
+	 * @param scheduler Trigger task scheduling capability
 	 * @param buttonSizeSetting Size modification settings
 	 */
-	public ButtonBlock(int x, int y, ID id, TriggerHandler handler, TriggerHandler.ButtonSizeSetting buttonSizeSetting) {
+	public ButtonBlock(int x, int y, ID id, TriggerHandler.Scheduler scheduler, TriggerHandler.ButtonSizeSetting buttonSizeSetting) {
 		super(x, y, id);
 		size = 48;
-		this.handler = handler;
-		this.targetedPlayer = Game.player;
+		this.scheduler = scheduler;
+		this.targetedPlayer = scheduler.getSession().player;
 		this.type = buttonSizeSetting.type();
 		this.image = Game.gameImages.buttonBlockImages();
 		this.buttonSizeSetting = buttonSizeSetting;
@@ -99,7 +99,7 @@ public class ButtonBlock extends GameObject {
 	 */
 	private void passEffect() {
 		switch(type) {
-			case SIZE -> handler.scheduleTriggerTask(() -> {
+			case SIZE -> scheduler.scheduleTriggerTask(() -> {
 							targetedPlayer.setX(targetedPlayer.getX() - targetedPlayer.WIDTH*0.173);
 							if(targetedPlayer.GRAV > 0) targetedPlayer.setY(targetedPlayer.getY() - buttonSizeSetting.height());
 							targetedPlayer.WIDTH += buttonSizeSetting.width()*0.01;
@@ -1,6 +1,8 @@
 package com.unipi.alexandris.game.echotrials.base.roomobjects;
 
+import com.unipi.alexandris.game.echotrials.base.Session;
 import com.unipi.alexandris.game.echotrials.base.core.ID;
+import com.unipi.alexandris.game.echotrials.base.handlers.EntityStore;
 
 import java.awt.Graphics;
 import java.awt.Rectangle;
@@ -17,16 +19,25 @@ public abstract class GameObject {
 	
 	/** Y-coordinate position of the game object */
 	protected double y;
+
+	/** Position of the game object at the start of the current tick, used to interpolate rendering */
+	protected double prevX, prevY;
+
+	/** Distance in pixels beyond which a move between two ticks is a jump and is not interpolated */
+	private static final double SNAP_DISTANCE = 96;
 	
+	/** The session the game object plays in, set when it is added to a handler */
+	protected Session session;
+
 	/** Size of the game object in pixels */
 	protected int size = 0;
 	
 	/** Object type identifier */
 	protected ID id;
 	
-	/** Collision area for handling object interactions */
-	protected final Area obstructions = new Area();
-	
+	/** Location of the object in the entity store holding it */
+	private final EntityStore.Handle handle = new EntityStore.Handle();
+
 	/** Flag indicating if up movement is being pressed */
 	protected boolean pressUP;
 	
@@ -72,6 +83,8 @@ public abstract class GameObject {
 	public GameObject(double x, double y, ID id) {
 		this.x = x;
 		this.y = y;
+		this.prevX = x;
+		this.prevY = y;
 		this.id = id;
 	}
 
@@ -88,6 +101,60 @@ public abstract class GameObject {
 	 */
 	public abstract void render(Graphics var1);
 
+	/**
+	 * Renders the game object between its previous and current tick.
+	 * Objects that move override this to draw at {@link #getRenderX(double)} and {@link #getRenderY(double)};
+	 * the rest are drawn at their current position.
+	 * @param g The graphics context to render to
+	 * @param alpha Time elapsed since the current tick, as a fraction of a tick
+	 */
+	public void render(Graphics g, double alpha) {
+		render(g);
+	}
+
+	/**
+	 * Remembers the current position as the position at the start of the tick.
+	 * Called by the handler before every tick.
+	 */
+	public void savePosition() {
+		prevX = x;
+		prevY = y;
+	}
+
+	/**
+	 * Gets the X coordinate to render at, interpolated between the previous and the current tick.
+	 * @param alpha Fraction of the way from the previous to the current position
+	 * @return Interpolated X position, or the current one after a jump
+	 */
+	public double getRenderX(double alpha) {
+		return Math.abs(x - prevX) > SNAP_DISTANCE ? x : prevX + (x - prevX) * alpha;
+	}
+
+	/**
+	 * Gets the Y coordinate to render at, interpolated between the previous and the current tick.
+	 * @param alpha Fraction of the way from the previous to the current position
+	 * @return Interpolated Y position, or the current one after a jump
+	 */
+	public double getRenderY(double alpha) {
+		return Math.abs(y - prevY) > SNAP_DISTANCE ? y : prevY + (y - prevY) * alpha;
+	}
+
+	/**
+	 * Gets the session the game object plays in.
+	 * @return The session, or null if the object was never added to a handler
+	 */
+	public Session getSession() {
+		return session;
+	}
+
+	/**
+	 * Sets the session the game object plays in. Called by the handler the object is added to.
+	 * @param session The session
+	 */
+	public void setSession(Session session) {
+		this.session = session;
+	}
+
 	/**
 	 * Gets the rectangular bounds for collision detection.
 	 * Must be implemented by concrete subclasses.
@@ -95,6 +162,17 @@ public abstract class GameObject {
 	 */
 	public abstract Rectangle getBounds();
 
+	/**
+	 * Copies the rectangular bounds into an existing rectangle.
+	 * Subclasses with simple bounds override this to avoid allocating a new rectangle.
+	 * @param bounds Rectangle receiving the bounds
+	 * @return The given rectangle
+	 */
+	public Rectangle getBounds(Rectangle bounds) {
+		bounds.setBounds(getBounds());
+		return bounds;
+	}
+
 	/**
 	 * Gets the precise collision area for the object.
 	 * Must be implemented by concrete subclasses.
@@ -102,6 +180,14 @@ public abstract class GameObject {
 	 */
 	public abstract Area getArea();
 
+	/**
+	 * Gets the handle locating the object in the entity store holding it.
+	 * @return The object's store handle
+	 */
+	public EntityStore.Handle getHandle() {
+		return handle;
+	}
+
 	/**
 	 * Sets the Y coordinate of the object.
 	 * @param y New Y coordinate
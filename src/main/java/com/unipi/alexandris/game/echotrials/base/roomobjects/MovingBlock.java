@@ -1,7 +1,7 @@
 package com.unipi.alexandris.game.echotrials.base.roomobjects;
 
-import com.unipi.alexandris.game.echotrials.base.Game;
 import com.unipi.alexandris.game.echotrials.base.core.ID;
+import com.unipi.alexandris.game.echotrials.base.physics.DynamicColliders;
 
 import java.awt.*;
 import java.awt.geom.Area;
@@ -21,15 +21,18 @@ public class MovingBlock extends GameObject {
 	/** Movement behavior callback */
 	private Runnable movement;
 
-	/** Previous X position for velocity calculation */
-	private double prevX = x;
-
-	/** Previous Y position for velocity calculation */
-	private double prevY = y;
-
 	/** Flag indicating player contact */
 	private boolean touchedPlayer = false;
 
+	/** Collider registry keeping this block solid, or null if the block is not solid */
+	private DynamicColliders colliders;
+
+	/** Handle of this block in the collider registry */
+	private int collider = -1;
+
+	/** Reusable bounds of the object currently tested against the probes */
+	private final Rectangle target = new Rectangle();
+
 	/**
 	 * Creates a new moving block.
 	 * @param x Initial X position
@@ -46,84 +49,79 @@ public class MovingBlock extends GameObject {
 	/**
 	 * Updates block position and handles collisions.
 	 * Manages player interaction and platform movement.
+	 * The velocity of the block is its move since the position saved at the start of the tick,
+	 * as scheduled tasks move the block before the objects tick.
 	 */
 	@Override
 	public void tick() {
-		if(Game.player == null) return;
+		if(session.player == null) return;
 		double vely = y - prevY;
 		double velx = x - prevX;
-		prevX = x;
-		prevY = y;
-
-		Area up = new Area(getRectangle(x - 2, y - 8, size + 4, 5));
-		Area down = new Area(getRectangle(x - 2, y + size - 1, size + 4, 2));
-		Area left = new Area(getRectangle(x - 8, y + 2, 5, size - 4));
-		Area right = new Area(getRectangle(x + size + 3, y + 2, 5, size - 4));
-
-		up.intersect(new Area(Game.player.getBounds()));
-		down.intersect(new Area(Game.player.getBounds()));
-		left.intersect(new Area(Game.player.getBounds()));
-		right.intersect(new Area(Game.player.getBounds()));
+
+		// Probe edges are truncated to whole pixels.
+		int probeX = (int) (x - 2), upY = (int) (y - 8), downY = (int) (y + size - 1);
+		int leftX = (int) (x - 8), rightX = (int) (x + size + 3), sideY = (int) (y + 2);
+
+		session.player.getBounds(target);
+		boolean up = target.intersects(probeX, upY, size + 4, 5);
+		boolean down = target.intersects(probeX, downY, size + 4, 2);
+		boolean left = target.intersects(leftX, sideY, 5, size - 4);
+		boolean right = target.intersects(rightX, sideY, 5, size - 4);
 		if(Math.abs(vely) > 0) {
-			if(!up.isEmpty() && vely<0) {
-				Game.player.setCancelUP(true);
-				Game.player.setPressUP(false);
-				Game.player.setY(Game.player.getY() + vely);
+			if(up && vely<0) {
+				session.player.setCancelUP(true);
+				session.player.setPressUP(false);
+				session.player.setY(session.player.getY() + vely);
 			}
-			if(!down.isEmpty() && vely>0) {
-				Game.player.setCancelUP(true);
-				Game.player.setPressUP(false);
-				Game.player.setY(Game.player.getY() + vely);
+			if(down && vely>0) {
+				session.player.setCancelUP(true);
+				session.player.setPressUP(false);
+				session.player.setY(session.player.getY() + vely);
 			}
 		}
 		else {
-			if(!up.isEmpty() || !down.isEmpty()) Game.player.setCancelUP(false);
+			if(up || down) session.player.setCancelUP(false);
 		}
 		if(Math.abs(velx) > 0) {
-			if(!left.isEmpty() && velx<0) {
-				Game.player.setCancelRIGHT(true);
-				Game.player.setPressRIGHT(false);
-				Game.player.setX(Game.player.getX() + velx);
+			if(left && velx<0) {
+				session.player.setCancelRIGHT(true);
+				session.player.setPressRIGHT(false);
+				session.player.setX(session.player.getX() + velx);
 				touchedPlayer = true;
 			}
-			if(!right.isEmpty() && velx>0) {
-				Game.player.setCancelLEFT(true);
-				Game.player.setPressLEFT(false);
-				Game.player.setX(Game.player.getX() + velx);
+			if(right && velx>0) {
+				session.player.setCancelLEFT(true);
+				session.player.setPressLEFT(false);
+				session.player.setX(session.player.getX() + velx);
 				touchedPlayer = true;
 			}
 		}
 		else {
 			if(touchedPlayer) {
-				Game.player.setCancelRIGHT(false);
-				Game.player.setCancelLEFT(false);
+				session.player.setCancelRIGHT(false);
+				session.player.setCancelLEFT(false);
 				touchedPlayer = false;
 			}
 		}
 
-		up = new Area(getRectangle(x - 2, y - 8, size + 4, 5));
-		down = new Area(getRectangle(x - 2, y + size - 1, size + 4, 2));
-		left = new Area(getRectangle(x - 8, y + 2, 5, size - 4));
-		right = new Area(getRectangle(x + size + 3, y + 2, 5, size - 4));
-
-		up.intersect(new Area(Game.goal.getBounds()));
-		down.intersect(new Area(Game.goal.getBounds()));
-		left.intersect(new Area(Game.goal.getBounds()));
-		right.intersect(new Area(Game.goal.getBounds()));
+		session.goal.getBounds(target);
+		up = target.intersects(probeX, upY, size + 4, 5);
+		down = target.intersects(probeX, downY, size + 4, 2);
+		right = target.intersects(rightX, sideY, 5, size - 4);
 		if(Math.abs(vely) > 0) {
-			if (!up.isEmpty() && vely<0) {
-				Game.goal.setY(Game.goal.getY() + vely);
+			if (up && vely<0) {
+				session.goal.setY(session.goal.getY() + vely);
 			}
-			if (!down.isEmpty() && vely>0) {
-				Game.goal.setY(Game.goal.getY() + vely);
+			if (down && vely>0) {
+				session.goal.setY(session.goal.getY() + vely);
 			}
 		}
 		if(Math.abs(velx) > 0) {
-			if(!right.isEmpty() && velx<0) {
-				Game.goal.setX(Game.goal.getX() + velx);
+			if(right && velx<0) {
+				session.goal.setX(session.goal.getX() + velx);
 			}
-			if(!right.isEmpty() && velx>0) {
-				Game.goal.setX(Game.goal.getX() + velx);
+			if(right && velx>0) {
+				session.goal.setX(session.goal.getX() + velx);
 			}
 		}
 	}
@@ -134,7 +132,17 @@ public class MovingBlock extends GameObject {
 	 */
 	@Override
 	public void render(Graphics g) {
-		g.drawImage(image, (int) x, (int) y, null);
+		render(g, 1);
+	}
+
+	/**
+	 * Renders the moving block between its previous and current tick.
+	 * @param g Graphics context
+	 * @param alpha Time elapsed since the current tick, as a fraction of a tick
+	 */
+	@Override
+	public void render(Graphics g, double alpha) {
+		g.drawImage(image, (int) getRenderX(alpha), (int) getRenderY(alpha), null);
 	}
 
 	/**
@@ -164,6 +172,56 @@ public class MovingBlock extends GameObject {
 		return new Area(new Rectangle2D.Double(x, y, size, size));
 	}
 
+	/**
+	 * Makes the block solid by registering it in a collider registry.
+	 * The registered box follows every later move of the block.
+	 * @param colliders Collider registry used by the collision queries
+	 */
+	public void solidify(DynamicColliders colliders) {
+		this.colliders = colliders;
+		this.collider = colliders.add(x, y, size, size);
+	}
+
+	/**
+	 * Sets the X coordinate and updates the registered collider.
+	 * @param x New X coordinate
+	 */
+	@Override
+	public void setX(double x) {
+		super.setX(x);
+		if(colliders != null) colliders.moveTo(collider, this.x, this.y);
+	}
+
+	/**
+	 * Sets the Y coordinate and updates the registered collider.
+	 * @param y New Y coordinate
+	 */
+	@Override
+	public void setY(double y) {
+		super.setY(y);
+		if(colliders != null) colliders.moveTo(collider, this.x, this.y);
+	}
+
+	/**
+	 * Moves the block horizontally and updates the registered collider.
+	 * @param x Amount to move in X direction
+	 */
+	@Override
+	public void moveX(double x) {
+		super.moveX(x);
+		if(colliders != null) colliders.moveTo(collider, this.x, this.y);
+	}
+
+	/**
+	 * Moves the block vertically and updates the registered collider.
+	 * @param y Amount to move in Y direction
+	 */
+	@Override
+	public void moveY(double y) {
+		super.moveY(y);
+		if(colliders != null) colliders.moveTo(collider, this.x, this.y);
+	}
+
 	/**
 	 * Sets the block's movement behavior.
 	 * @param movement Runnable defining movement pattern
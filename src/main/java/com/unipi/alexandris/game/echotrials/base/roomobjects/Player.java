@@ -1,19 +1,17 @@
 package com.unipi.alexandris.game.echotrials.base.roomobjects;
 
-import com.unipi.alexandris.game.echotrials.base.Game;
 import com.unipi.alexandris.game.echotrials.base.core.ID;
 import com.unipi.alexandris.game.echotrials.base.loaders.SoundFXLoader;
 import com.unipi.alexandris.game.echotrials.base.physics.ParticleCreator;
 import com.unipi.alexandris.game.echotrials.base.physics.PhysicsPlatformer;
 import com.unipi.alexandris.game.echotrials.base.handlers.Handler;
-import com.unipi.alexandris.game.echotrials.base.loaders.BufferedImageLoader;
+import com.unipi.alexandris.game.echotrials.base.loaders.SpriteCache;
 
 import java.awt.*;
 import java.awt.geom.Area;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * The main player character controlled by user input.
@@ -25,12 +23,13 @@ public class Player extends GameObject {
 	private final Handler handler;
 	private final ParticleCreator pc;
 	private PhysicsPlatformer pp;
-	BufferedImageLoader loader = new BufferedImageLoader();
+	private static final int IDLE = 0, MOVE = 1, JUMP = 2;
+	private static final SpriteCache sprites = new SpriteCache("/textures/player/Idle.png", "/textures/player/Move.png", "/textures/player/Jump.png");
 	SoundFXLoader sound = new SoundFXLoader();
 	private int breath_timer = 0;
 	boolean direction, in_water;
 	private final Color[] color = {new Color(0, 164, 254, 100), new Color(0, 231, 254, 100), new Color(0, 205, 255, 100)};
-	private BufferedImage sprite;
+	private int animation = IDLE;
 	private double width = size;
 	private double height = size*2;
 	public double WIDTH = 1;
@@ -41,15 +40,15 @@ public class Player extends GameObject {
 	public boolean death = false;
 	private int animationCounter = 0;
 	private int deathDelayCounter = 0;
-	private final Random r = new Random();
+	private final SplittableRandom r;
 	
 	public Player(int x, int y, ID id, Handler handler) {
 		super(x, y, id);
 		this.handler = handler;
+		this.session = handler.getSession();
 		pc = new ParticleCreator(handler);
-		sprite = loader.loadImage("/textures/player/Idle.png");
+		r = pc.getRandom();
 		size = 1;
-		obstructions.add(Game.block);
 		pp = new PhysicsPlatformer(SPEED_X, SPEED_Y, GRAV, sound, "/sounds/Jump.mp3");
 	}
 
@@ -64,13 +63,11 @@ public class Player extends GameObject {
 
 		if(height < width) particleSize = (int)height;
 		
-		for(int i = 0; i < handler.getObject().size(); i++) {
-			GameObject tempObject = handler.getObject().get(i);
-			if(tempObject.getId() == ID.Enemy_Projectile) {
-				if(getArea().intersects(tempObject.getBounds())) {
-					handler.removeObject(tempObject);
-					Game.health_counter--;
-				}
+		for(int i = handler.count(ID.Enemy_Projectile) - 1; i >= 0; i--) {
+			GameObject tempObject = handler.get(ID.Enemy_Projectile, i);
+			if(getArea().intersects(tempObject.getBounds())) {
+				handler.removeObject(tempObject);
+				session.health_counter--;
 			}
 		}
 		if(size<=0) {
@@ -84,43 +81,41 @@ public class Player extends GameObject {
 		height = size*HEIGHT;
 		
 //		/*
-		Area playerW = getArea();
-		playerW.intersect(Game.water);
-		Area playerG = getArea();
-		playerG.intersect(obstructions);
-		if(playerW.isEmpty()) {
+		boolean wet = session.world.overlapsWater((int) x - 3, (int) y - 3, size*WIDTH + 6, size*HEIGHT + 6);
+		boolean grounded = session.world.overlapsSolid((int) x - 3, (int) y - 3, size*WIDTH + 6, size*HEIGHT + 6);
+		if(!wet) {
 			in_water = false;
-			Game.bubble_flag = false;
+			session.bubble_flag = false;
 			breath_timer = 0;
-			Game.bubble_counter = 10;
-			if(!playerG.isEmpty() && getPressRIGHT())
+			session.bubble_counter = 10;
+			if(grounded && getPressRIGHT())
 				for(int i = 0; i < 5; i++) pc.spawn(x + 10, y + height - 5, Color.BLACK, 4, particleSize * 25 / 100, 0.6, 'c');
-			else if(!playerG.isEmpty() && getPressLEFT())
+			else if(grounded && getPressLEFT())
 				for(int i = 0; i < 5; i++) pc.spawn(x + width - 10, y + height - 5, Color.BLACK, 4, particleSize * 25 / 100, 0.6, 'c');
 		}
 		else {
 			in_water = true;
-			Game.bubble_flag = true;
+			session.bubble_flag = true;
 			breath_timer++;
 			if(size < 5) pc.spawn(10, x + width / 10, y + height / 10, color, 5, particleSize, size * 80 / 100 + 1, size * 80 / 100 + 1, 1, 1, 0, 0, 's');
 			else pc.spawn(5, x + width / 10, y + height / 10, color, size * 80 / 100, particleSize, size * 80 / 100, size * 80 / 100, 1, 1, 0, 0, 'c');
 		}
 		
 		if(breath_timer >= 200) {
-			Game.bubble_counter--;
-			if(Game.bubble_counter < 0) Game.health_counter--;
+			session.bubble_counter--;
+			if(session.bubble_counter < 0) session.health_counter--;
 			breath_timer = 0;
 		}
 
-		if(y > Game.camera.getHeight() || y < Game.camera.getY()) {
+		if(y > session.camera.getHeight() || y < session.camera.getY()) {
 			if(deathDelayCounter++ == 0) sound.playSound("/sounds/AAAAAAAAAaa.mp3", "/sounds/Falling.mp3");
 			setPressLEFT(false);
 			setPressRIGHT(false);
 			if(deathDelayCounter++ > 180) {
-				Game.health_counter--;
+				session.health_counter--;
 				deathDelayCounter = 0;
 				death = false;
-				Game.reload();
+				session.reload();
 			}
 		}
 		if(death) {
@@ -130,42 +125,42 @@ public class Player extends GameObject {
 					double velX = r.nextDouble(10, 30);
 					if(r.nextBoolean()) velX = -velX;
 					double velY = r.nextDouble(-20, -15);
-					pc.spawn(2, x + width / 2, y - 2, new Color[] {Color.BLACK}, 10, 6, 15, 2, 5, 15, -1, 3, velX, velY, obstructions, 's');
+					pc.spawn(2, x + width / 2, y - 2, new Color[] {Color.BLACK}, 10, 6, 15, 2, 5, 15, -1, 3, velX, velY, true, 's');
 				}
 				for(int i = 0; i < 10; i++) {
 					double velX = r.nextDouble(1, 10);
 					if(r.nextBoolean()) velX = -velX;
 					double velY = r.nextDouble(-30, -20);
-					pc.spawn(3, x + width / 2, y - 2, new Color[] {Color.BLACK}, 20, 6, 15, 2, 1, 15, 1, 4, velX, velY, obstructions, 's');
+					pc.spawn(3, x + width / 2, y - 2, new Color[] {Color.BLACK}, 20, 6, 15, 2, 1, 15, 1, 4, velX, velY, true, 's');
 				}
 				double velY = r.nextDouble(-10, 0);
-				pc.spawn(2, x + width / 2, y - 2, new Color[] {Color.BLACK}, 25, 6, 15, 2, 10, 15, 0, 3, 0, velY, obstructions, 's');
+				pc.spawn(2, x + width / 2, y - 2, new Color[] {Color.BLACK}, 25, 6, 15, 2, 10, 15, 0, 3, 0, velY, true, 's');
 				sound.playSound("/sounds/Explosion.mp3");
 			}
 			setPressLEFT(false);
 			setPressRIGHT(false);
 			size = 0;
 			if(deathDelayCounter++ > 180) {
-				Game.health_counter--;
+				session.health_counter--;
 				deathDelayCounter = 0;
 				death = false;
-				Game.reload();
+				session.reload();
 			}
 		}
 		
-		if(Game.health_counter <= 0) {
+		if(session.health_counter <= 0) {
 			// TODO: Add a game-over screen and effects
-			Game.restart();
+			session.restart();
 		}
 
 		// MOVEMENT PHYSICS
-		double[] coords = pp.movementPhysics(obstructions, width, height, x, y, getPressUP(), getPressDOWN(), getPressLEFT(), getPressRIGHT());
-		x = coords[0];
-		y = coords[1];
-		coords = pp.swimmingPhysics(obstructions, Game.water, width, height, x, y, getPressUP(), getPressDOWN(), getPressLEFT(), getPressRIGHT());
-		x = coords[0];
-		y = coords[1];
-		double vely = coords[3];
+		PhysicsPlatformer.Result motion = pp.movementPhysics(session.world, width, height, x, y, getPressUP(), getPressDOWN(), getPressLEFT(), getPressRIGHT());
+		x = motion.x;
+		y = motion.y;
+		motion = pp.swimmingPhysics(session.world, width, height, x, y, getPressUP(), getPressDOWN(), getPressLEFT(), getPressRIGHT());
+		x = motion.x;
+		y = motion.y;
+		double vely = motion.velY;
 
         if(SPEED_X > 0) direction = getPressLEFT() && !getPressRIGHT();
 		else direction = !getPressLEFT() && getPressRIGHT();
@@ -173,38 +168,41 @@ public class Player extends GameObject {
 		animationCounter++;
 		// Animation Logic
 		if(vely >= -1 && vely <= 1) {
-			if (!getPressLEFT() && !getPressRIGHT()) sprite = loader.loadImage("/textures/player/Idle.png");
+			if (!getPressLEFT() && !getPressRIGHT()) animation = IDLE;
 			else {
 				if (animationCounter > 8) {
-					sprite = loader.loadImage("/textures/player/Move.png");
+					animation = MOVE;
 				} else {
-					sprite = loader.loadImage("/textures/player/Jump.png");
+					animation = JUMP;
 				}
 				if (animationCounter > 16) animationCounter = 0;
-				if (getPressUP()) sprite = loader.loadImage("/textures/player/Jump.png");
+				if (getPressUP()) animation = JUMP;
 			}
 		}
 	}
 	
 	public void render(Graphics g) {
+		render(g, 1);
+	}
+
+	@Override
+	public void render(Graphics g, double alpha) {
 		if (size <= 0 || width <= 0 || height <= 0) {
 			return;
 		}
-
-		Graphics2D g2d;
-		g2d = (Graphics2D) g;
-
-		try {
-			if(GRAV >= 0)
-				if(direction) g2d.drawImage(loader.resizeImage(sprite, width, height), (int) x, (int) y, null);
-				else g2d.drawImage(loader.resizeImage(sprite, width, height), (int) (x + width), (int) y, (int) -width, (int) height, null);
-			else {
-				// Flip the image vertically
-				if(direction) g2d.drawImage(loader.resizeImage(sprite, width, height), (int) x, (int) (y + height), (int) width, (int) -height, null);
-				else g2d.drawImage(loader.resizeImage(sprite, width, height), (int) (x + width), (int) (y + height), (int) -width, (int) -height, null);
-			}
-		}
-		catch (IOException ignored) {}
+		double x = getRenderX(alpha);
+		double y = getRenderY(alpha);
+
+		// Frames are pre-scaled and pre-flipped, so they are drawn at their natural size.
+		sprites.setScale(WIDTH, HEIGHT);
+		int w = (int) width;
+		int h = (int) height;
+		boolean flipX = !direction;
+		boolean flipY = GRAV < 0;
+		BufferedImage frame = sprites.getFrame(animation, w, h, flipX, flipY);
+		int drawX = flipX ? (int) (x + width) - w : (int) x;
+		int drawY = flipY ? (int) (y + height) - h : (int) y;
+		g.drawImage(frame, drawX, drawY, null);
 	}
 
 	public Rectangle getBounds(int x1, int x2, int y1, int y2) {
@@ -218,18 +216,16 @@ public class Player extends GameObject {
 		return  new Rectangle((int) x,(int) y, (int)(size*WIDTH), (int)(size*HEIGHT));
 	}
 
+	@Override
+	public Rectangle getBounds(Rectangle bounds) {
+		bounds.setBounds((int) x,(int) y, (int)(size*WIDTH), (int)(size*HEIGHT));
+		return bounds;
+	}
+
 
 	@Override
 	public Area getArea() {
 		return new Area(new Rectangle2D.Double((int) x - 3, (int) y - 3, size*WIDTH + 6, size*HEIGHT + 6));
 	}
 
-	public void removeObstructions(Area area) {
-		obstructions.subtract(area);
-		obstructions.add(Game.block);
-	}
-	public void addExtraObstructions(Area area) {
-		obstructions.add(area);
-	}
-	
 }
@@ -55,11 +55,11 @@ public class PortalBlock extends GameObject {
 	 */
 	@Override
 	public void tick() {
-		if(Game.player == null) return;
+		if(session.player == null) return;
 		if(locked) {
-			if (Game.currentLevel == LevelID.LEVEL_SELECTOR || Game.currentLevel == LevelID.LEVEL_HIGHSCORE) {
+			if (session.currentLevel == LevelID.LEVEL_SELECTOR || session.currentLevel == LevelID.LEVEL_HIGHSCORE) {
 				this.setCancelUP(true);
-				if (getArea().intersects(Game.player.getBounds())) {
+				if (getArea().intersects(session.player.getBounds())) {
 					this.setCancelUP(false);
 					if(pressUP) {
 						sound.playSound("/sounds/Jump.mp3");
@@ -70,102 +70,102 @@ public class PortalBlock extends GameObject {
 			}
 			return;
 		}
-		if(Game.currentLevel == LevelID.LEVEL_SELECTOR || Game.currentLevel == LevelID.LEVEL_HIGHSCORE) {
+		if(session.currentLevel == LevelID.LEVEL_SELECTOR || session.currentLevel == LevelID.LEVEL_HIGHSCORE) {
 			this.setCancelUP(true);
-			if(getArea().intersects(Game.player.getBounds())) {
+			if(getArea().intersects(session.player.getBounds())) {
 				this.setCancelUP(false);
 				if(pressUP) {
 					if(Objects.equals(title, "SPEEDRUN")) {
 						if(portalDelayCounter++ == 0) {
-							Game.player.HEIGHT = 1.3;
-							Game.player.WIDTH = 1;
+							session.player.HEIGHT = 1.3;
+							session.player.WIDTH = 1;
 							sound.playSound("/sounds/Pass Portal.mp3");
 						}
-						Game.player.setCancelLEFT(true);
-						Game.player.setCancelRIGHT(true);
-						Game.player.setCancelDOWN(true);
-						Game.player.setPressLEFT(false);
-						Game.player.setPressRIGHT(false);
-						Game.player.setPressDOWN(false);
-						Game.player.setX(x + (double)size/2 - 15*Game.player.WIDTH);
-						Game.player.setY(y+size-Game.player.HEIGHT*30);
-						Game.player.WIDTH -= Game.player.WIDTH*0.015;
-						Game.player.HEIGHT -= Game.player.HEIGHT*0.015;
+						session.player.setCancelLEFT(true);
+						session.player.setCancelRIGHT(true);
+						session.player.setCancelDOWN(true);
+						session.player.setPressLEFT(false);
+						session.player.setPressRIGHT(false);
+						session.player.setPressDOWN(false);
+						session.player.setX(x + (double)size/2 - 15*session.player.WIDTH);
+						session.player.setY(y+size-session.player.HEIGHT*30);
+						session.player.WIDTH -= session.player.WIDTH*0.015;
+						session.player.HEIGHT -= session.player.HEIGHT*0.015;
 						if(portalDelayCounter++ > 180) {
 							portalDelayCounter = 0;
-							Game.loadLevel(destination);
-							Game.SPEEDRUN = true;
+							session.loadLevel(destination);
+							session.SPEEDRUN = true;
 						}
 						return;
 					}
 					if(Objects.equals(title, "EXIT GAME")) {
 						if(portalDelayCounter++ == 0) {
-							Game.player.HEIGHT = 1.3;
-							Game.player.WIDTH = 1;
+							session.player.HEIGHT = 1.3;
+							session.player.WIDTH = 1;
 							sound.playSound("/sounds/Exit Game.mp3");
 						}
-						Game.player.setCancelLEFT(true);
-						Game.player.setCancelRIGHT(true);
-						Game.player.setCancelDOWN(true);
-						Game.player.setPressLEFT(false);
-						Game.player.setPressRIGHT(false);
-						Game.player.setPressDOWN(false);
-						Game.player.setX(x + (double)size/2 - 15*Game.player.WIDTH);
-						Game.player.setY(y+size-Game.player.HEIGHT*30);
-						Game.player.WIDTH -= Game.player.WIDTH*0.015;
-						Game.player.HEIGHT -= Game.player.HEIGHT*0.015;
+						session.player.setCancelLEFT(true);
+						session.player.setCancelRIGHT(true);
+						session.player.setCancelDOWN(true);
+						session.player.setPressLEFT(false);
+						session.player.setPressRIGHT(false);
+						session.player.setPressDOWN(false);
+						session.player.setX(x + (double)size/2 - 15*session.player.WIDTH);
+						session.player.setY(y+size-session.player.HEIGHT*30);
+						session.player.WIDTH -= session.player.WIDTH*0.015;
+						session.player.HEIGHT -= session.player.HEIGHT*0.015;
 						if(portalDelayCounter++ > 250) {
 							portalDelayCounter = 0;
-							Game.exit();
+							session.requestExit();
 						}
 						return;
 					}
 
 					if(portalDelayCounter++ == 0) {
-						Game.player.HEIGHT = 1.3;
-						Game.player.WIDTH = 1;
+						session.player.HEIGHT = 1.3;
+						session.player.WIDTH = 1;
 						sound.playSound("/sounds/Pass Portal.mp3");
 					}
-					Game.player.setCancelLEFT(true);
-					Game.player.setCancelRIGHT(true);
-					Game.player.setCancelDOWN(true);
-					Game.player.setPressLEFT(false);
-					Game.player.setPressRIGHT(false);
-					Game.player.setPressDOWN(false);
-					Game.player.setX(x + (double)size/2 - 15*Game.player.WIDTH);
-					Game.player.setY(y+size-Game.player.HEIGHT*30);
-					Game.player.WIDTH -= Game.player.WIDTH*0.015;
-					Game.player.HEIGHT -= Game.player.HEIGHT*0.015;
+					session.player.setCancelLEFT(true);
+					session.player.setCancelRIGHT(true);
+					session.player.setCancelDOWN(true);
+					session.player.setPressLEFT(false);
+					session.player.setPressRIGHT(false);
+					session.player.setPressDOWN(false);
+					session.player.setX(x + (double)size/2 - 15*session.player.WIDTH);
+					session.player.setY(y+size-session.player.HEIGHT*30);
+					session.player.WIDTH -= session.player.WIDTH*0.015;
+					session.player.HEIGHT -= session.player.HEIGHT*0.015;
 					if(portalDelayCounter++ > 180) {
 						portalDelayCounter = 0;
-						Game.loadLevel(destination);
+						session.loadLevel(destination);
 					}
 				}
 			}
 
 			return;
 		}
-		if(getArea().intersects(Game.player.getBounds())) {
+		if(getArea().intersects(session.player.getBounds())) {
 			if(portalDelayCounter++ == 0) {
-				Game.player.HEIGHT = 1.3;
-				Game.player.WIDTH = 1;
+				session.player.HEIGHT = 1.3;
+				session.player.WIDTH = 1;
 				sound.playSound("/sounds/Pass Portal.mp3");
 			}
-			Game.player.setCancelLEFT(true);
-			Game.player.setCancelRIGHT(true);
-			Game.player.setCancelUP(true);
-			Game.player.setCancelDOWN(true);
-			Game.player.setPressUP(false);
-			Game.player.setPressLEFT(false);
-			Game.player.setPressRIGHT(false);
-			Game.player.setPressDOWN(false);
-			Game.player.setX(x + (double)size/2 - 15*Game.player.WIDTH);
-			Game.player.setY(y+size-Game.player.HEIGHT*30);
-			Game.player.WIDTH -= Game.player.WIDTH*0.015;
-			Game.player.HEIGHT -= Game.player.HEIGHT*0.015;
+			session.player.setCancelLEFT(true);
+			session.player.setCancelRIGHT(true);
+			session.player.setCancelUP(true);
+			session.player.setCancelDOWN(true);
+			session.player.setPressUP(false);
+			session.player.setPressLEFT(false);
+			session.player.setPressRIGHT(false);
+			session.player.setPressDOWN(false);
+			session.player.setX(x + (double)size/2 - 15*session.player.WIDTH);
+			session.player.setY(y+size-session.player.HEIGHT*30);
+			session.player.WIDTH -= session.player.WIDTH*0.015;
+			session.player.HEIGHT -= session.player.HEIGHT*0.015;
 			if(portalDelayCounter++ > 180) {
 				portalDelayCounter = 0;
-				Game.loadNext();
+				session.loadNext();
 			}
 		}
 	}
@@ -216,6 +216,18 @@ public class PortalBlock extends GameObject {
 	 */
 	@Override
 	public void render(Graphics g) {
+		render(g, 1);
+	}
+
+	/**
+	 * Renders the portal between its previous and current tick, as it may ride a moving block.
+	 * @param g Graphics context
+	 * @param alpha Time elapsed since the current tick, as a fraction of a tick
+	 */
+	@Override
+	public void render(Graphics g, double alpha) {
+		double x = getRenderX(alpha);
+		double y = getRenderY(alpha);
 
 		// Find the size of string s in font f in the current Graphics context g.
 		g.setFont(new Font("VERDANA", Font.BOLD, 15));
@@ -256,6 +268,17 @@ public class PortalBlock extends GameObject {
 		return new Rectangle((int) x, (int) y - 8, size, size + 8);
 	}
 
+	/**
+	 * Copies portal's collision bounds into an existing rectangle.
+	 * @param bounds Rectangle receiving the bounds
+	 * @return The given rectangle
+	 */
+	@Override
+	public Rectangle getBounds(Rectangle bounds) {
+		bounds.setBounds((int) x, (int) y - 8, size, size + 8);
+		return bounds;
+	}
+
 	/**
 	 * Gets expanded collision bounds.
 	 * @param a Expansion amount
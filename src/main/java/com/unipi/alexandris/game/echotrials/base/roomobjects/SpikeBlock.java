@@ -1,6 +1,5 @@
 package com.unipi.alexandris.game.echotrials.base.roomobjects;
 
-import com.unipi.alexandris.game.echotrials.base.Game;
 import com.unipi.alexandris.game.echotrials.base.core.ID;
 import com.unipi.alexandris.game.echotrials.base.handlers.Handler;
 import com.unipi.alexandris.game.echotrials.base.physics.ParticleCreator;
@@ -32,6 +31,9 @@ public class SpikeBlock extends GameObject {
 	
 	/** Current spike image index */
 	private int i = 0;
+
+	/** Physics used while the spike falls, reset every tick */
+	private final PhysicsPlatformer pp = new PhysicsPlatformer(0, 500, 10);
 	
 	/**
 	 * Creates a new spike block.
@@ -57,16 +59,12 @@ public class SpikeBlock extends GameObject {
 	@Override
 	public void tick() {
 		if(!isCancelUP()) {
-			PhysicsPlatformer pp = new PhysicsPlatformer(0, 500, 10);
-
-			obstructions.add(Game.player.obstructions);
-			double[] coords = pp.movementPhysics(obstructions, size, size, x, y, getPressUP(), getPressDOWN(), getPressLEFT(), getPressRIGHT());
-			y = coords[1];
-			coords = pp.swimmingPhysics(obstructions, Game.water, size, size, x, y, getPressUP(), getPressDOWN(), getPressLEFT(), getPressRIGHT());
-			y = coords[1];
+			pp.reset();
+			y = pp.movementPhysics(session.world, size, size, x, y, getPressUP(), getPressDOWN(), getPressLEFT(), getPressRIGHT()).y;
+			y = pp.swimmingPhysics(session.world, size, size, x, y, getPressUP(), getPressDOWN(), getPressLEFT(), getPressRIGHT()).y;
 		}
-		for(GameObject tempObject : handler.getObject())
-			if(tempObject instanceof Player player) {
+		for(int k = handler.count(ID.Player) - 1; k >= 0; k--)
+			if(handler.get(ID.Player, k) instanceof Player player) {
 				if(getArea().intersects(player.getBounds())) {
 					player.death = true;
 					
@@ -81,9 +79,21 @@ public class SpikeBlock extends GameObject {
 	 */
 	@Override
 	public void render(Graphics g) {
+		render(g, 1);
+	}
+
+	/**
+	 * Renders the spike block between its previous and current tick.
+	 * @param g Graphics context
+	 * @param alpha Time elapsed since the current tick, as a fraction of a tick
+	 */
+	@Override
+	public void render(Graphics g, double alpha) {
 		if(arisen) {
-			if(inverted) g.drawImage(image[i], (int) x, (int) y + size, size, -size, null);
-			else g.drawImage(image[i], (int) x, (int) y, null);
+			int renderX = (int) getRenderX(alpha);
+			int renderY = (int) getRenderY(alpha);
+			if(inverted) g.drawImage(image[i], renderX, renderY + size, size, -size, null);
+			else g.drawImage(image[i], renderX, renderY, null);
 		}
 	}
 
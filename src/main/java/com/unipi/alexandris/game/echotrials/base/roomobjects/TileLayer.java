@@ -0,0 +1,236 @@
+package com.unipi.alexandris.game.echotrials.base.roomobjects;
+
+import com.unipi.alexandris.game.echotrials.base.Game;
+import com.unipi.alexandris.game.echotrials.base.core.ID;
+
+import java.awt.*;
+import java.awt.geom.Area;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Base class for the tile-based level layers.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Splitting the layer into fixed-size chunks that are rasterized on first use</li>
+ *   <li>Drawing only the chunks that intersect the camera viewport</li>
+ *   <li>Evicting the least recently drawn chunks, so memory stays bounded regardless of level length</li>
+ *   <li>Keeping the random size variation of every tile, so a re-rasterized chunk looks the same</li>
+ *   <li>Drawing the size variation from a seed, so a layer built with the same seed always looks the same</li>
+ * </ul>
+ * Subclasses decide how a single tile is drawn.
+ */
+public abstract class TileLayer extends GameObject {
+
+	/** Width and height of a chunk in pixels. */
+	public static final int CHUNK_SIZE = 512;
+
+	/** Maximum number of rasterized chunks kept per layer; a full viewport needs at most 20. */
+	private static final int MAX_CHUNKS = 30;
+
+	/** Collection of tile maps defining the layer layout */
+	protected final ArrayList<char[][]> maps;
+
+	/** Collection of textures used for different tile types */
+	protected final ArrayList<BufferedImage> images;
+
+	/** Size of a tile in pixels */
+	protected final int multiplier;
+
+	/** Layer width in pixels */
+	private final int pixelWidth;
+
+	/** Layer height in pixels */
+	private final int pixelHeight;
+
+	/** Number of chunk columns */
+	private final int chunkColumns;
+
+	/** Image type of the chunks */
+	private final int imageType;
+
+	/** Number of extra cells a varied tile may reach to the right of or below its own cell */
+	private final int reach;
+
+	/** Horizontal size variation of every tile, indexed by map, column and row */
+	private final byte[][][] variationsX;
+
+	/** Vertical size variation of every tile, indexed by map, column and row */
+	private final byte[][][] variationsY;
+
+	/** Rasterized chunks in access order, keyed by chunk index */
+	private final LinkedHashMap<Integer, BufferedImage> chunks = new LinkedHashMap<>(MAX_CHUNKS, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+			return size() > MAX_CHUNKS;
+		}
+	};
+
+	/**
+	 * Creates a new tile layer and draws the size variation of its tiles.
+	 * A variation is drawn from [variationOrigin, variationBound) and 0 is replaced by 1,
+	 * so a negative variation mirrors the tile and its absolute value scales it.
+	 * @param x Starting X coordinate
+	 * @param y Starting Y coordinate
+	 * @param id Object identifier
+	 * @param images Collection of tile textures
+	 * @param maps Collection of tile maps
+	 * @param multiplier Size multiplier for tiles
+	 * @param width Level width in tiles
+	 * @param height Level height in tiles
+	 * @param imageType Image type of the chunks
+	 * @param variationOrigin Smallest size variation
+	 * @param variationBound Upper bound of the size variation, exclusive
+	 * @param seed Seed of the size variation
+	 */
+	protected TileLayer(int x, int y, ID id, ArrayList<BufferedImage> images, ArrayList<char[][]> maps, int multiplier, int width, int height,
+						int imageType, int variationOrigin, int variationBound, long seed) {
+		super(x, y, id);
+		this.maps = maps;
+		this.images = images;
+		this.multiplier = multiplier;
+		this.pixelWidth = width * multiplier;
+		this.pixelHeight = height * multiplier;
+		this.chunkColumns = (pixelWidth + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		this.imageType = imageType;
+		this.reach = Math.max(-variationOrigin, variationBound - 1) - 1;
+
+		SplittableRandom r = new SplittableRandom(seed);
+		variationsX = new byte[maps.size()][][];
+		variationsY = new byte[maps.size()][][];
+		for(int m = 0; m < maps.size(); m++) {
+			char[][] map = maps.get(m);
+			variationsX[m] = new byte[map.length][];
+			variationsY[m] = new byte[map.length][];
+			for(int i = 0; i < map.length; i++) {
+				variationsX[m][i] = new byte[map[i].length];
+				variationsY[m][i] = new byte[map[i].length];
+				for(int j = 0; j < map[i].length; j++) {
+					int rW = r.nextInt(variationOrigin, variationBound);
+					int rH = r.nextInt(variationOrigin, variationBound);
+					variationsX[m][i][j] = (byte) (rW == 0 ? 1 : rW);
+					variationsY[m][i][j] = (byte) (rH == 0 ? 1 : rH);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Draws a single tile into a chunk.
+	 * @param g Graphics context of the chunk, translated so that tile coordinates are level coordinates
+	 * @param tile The tile character
+	 * @param tileX Left edge of the tile's cell in pixels
+	 * @param tileY Top edge of the tile's cell in pixels
+	 * @param rW Horizontal size variation of the tile
+	 * @param rH Vertical size variation of the tile
+	 */
+	protected abstract void drawTile(Graphics g, char tile, int tileX, int tileY, int rW, int rH);
+
+	/**
+	 * Layers are static and require no updates.
+	 */
+	@Override
+	public void tick() {
+	}
+
+	/**
+	 * Renders the chunks that intersect the camera viewport, rasterizing missing ones.
+	 * @param g Graphics context
+	 */
+	@Override
+	public void render(Graphics g) {
+		render(g, 1);
+	}
+
+	/**
+	 * Renders the chunks that intersect the camera viewport as it is interpolated for this frame.
+	 * @param g Graphics context
+	 * @param alpha Time elapsed since the current tick, as a fraction of a tick
+	 */
+	@Override
+	public void render(Graphics g, double alpha) {
+		double cameraX = session.camera == null ? 0 : session.camera.getX(alpha);
+		double cameraY = session.camera == null ? 0 : session.camera.getY(alpha);
+		int firstColumn = Math.max(0, (int) Math.floor(cameraX / CHUNK_SIZE));
+		int lastColumn = Math.min(chunkColumns - 1, (int) Math.floor((cameraX + Game.WIDTH) / CHUNK_SIZE));
+		int firstRow = Math.max(0, (int) Math.floor(cameraY / CHUNK_SIZE));
+		int lastRow = Math.min((pixelHeight - 1) / CHUNK_SIZE, (int) Math.floor((cameraY + Game.HEIGHT) / CHUNK_SIZE));
+		for(int row = firstRow; row <= lastRow; row++) {
+			for(int column = firstColumn; column <= lastColumn; column++) {
+				int key = row * chunkColumns + column;
+				BufferedImage chunk = chunks.get(key);
+				if(chunk == null) {
+					chunk = rasterize(column, row);
+					chunks.put(key, chunk);
+				}
+				g.drawImage(chunk, column * CHUNK_SIZE, row * CHUNK_SIZE, null);
+			}
+		}
+	}
+
+	/**
+	 * Rasterizes a chunk, drawing every tile that may reach into it in map order.
+	 * @param column Chunk column
+	 * @param row Chunk row
+	 * @return The rasterized chunk
+	 */
+	private BufferedImage rasterize(int column, int row) {
+		int left = column * CHUNK_SIZE;
+		int top = row * CHUNK_SIZE;
+		BufferedImage chunk = new BufferedImage(Math.min(CHUNK_SIZE, pixelWidth - left), Math.min(CHUNK_SIZE, pixelHeight - top), imageType);
+		Graphics g = chunk.getGraphics();
+		g.translate(-left, -top);
+		int firstI = Math.max(0, left / multiplier - reach);
+		int lastI = (left + chunk.getWidth() - 1) / multiplier;
+		int firstJ = Math.max(0, top / multiplier - reach);
+		int lastJ = (top + chunk.getHeight() - 1) / multiplier;
+		for(int m = 0; m < maps.size(); m++) {
+			char[][] map = maps.get(m);
+			for(int i = firstI; i <= lastI && i < map.length; i++) {
+				for(int j = firstJ; j <= lastJ && j < map[i].length; j++) {
+					drawTile(g, map[i][j], i * multiplier, j * multiplier, variationsX[m][i][j], variationsY[m][i][j]);
+				}
+			}
+		}
+		g.dispose();
+		return chunk;
+	}
+
+	/**
+	 * Drops every rasterized chunk; they are rasterized again when next drawn.
+	 */
+	public void invalidate() {
+		chunks.clear();
+	}
+
+	/**
+	 * Gets the number of rasterized chunks currently kept.
+	 * @return The number of chunks in memory
+	 */
+	public int getChunkCount() {
+		return chunks.size();
+	}
+
+	/**
+	 * Gets collision bounds.
+	 * Layers are decorative and have no collision.
+	 * @return null as layers have no collision
+	 */
+	@Override
+	public Rectangle getBounds() {
+		return null;
+	}
+
+	/**
+	 * Gets collision area.
+	 * Layers are decorative and have no collision.
+	 * @return null as layers have no collision
+	 */
+	@Override
+	public Area getArea() {
+		return null;
+	}
+}
@@ -16,8 +16,8 @@ import java.awt.geom.Ellipse2D;
 @SuppressWarnings(value = "unused")
 public class TriggerBlock extends GameObject {
 
-	/** Handler for trigger events */
-	private final TriggerHandler handler;
+	/** Capability for scheduling this trigger's action */
+	private final TriggerHandler.Scheduler scheduler;
 
 	/** Delay in ticks before trigger activates */
 	private final int delay;
@@ -48,12 +48,12 @@ public class TriggerBlock extends GameObject {
 	 * @param delay Activation delay
 	 * @param speed Repeat interval
 	 * @param iterations Maximum activations
-	 * @param handler Event handler
+	 * @param scheduler Trigger task scheduling capability
 	 */
-	public TriggerBlock(int x, int y, ID id, int delay, int speed, int iterations, TriggerHandler handler) {
+	public TriggerBlock(int x, int y, ID id, int delay, int speed, int iterations, TriggerHandler.Scheduler scheduler) {
 		super(x, y, id);
 		size = 48;
-		this.handler = handler;
+		this.scheduler = scheduler;
 		this.delay = delay;
 		this.speed = speed;
 		this.iterations = iterations;
@@ -70,13 +70,13 @@ public class TriggerBlock extends GameObject {
 	 * @param id Object identifier
 	 * @param delay Activation delay
 	 * @param speed Repeat interval
-	 * @param handler Event handler
+	 * @param scheduler Trigger task scheduling capability
 	 * @param RANGE Detection range in all directions
 	 */
-	public TriggerBlock(int x, int y, ID id, int delay, int speed, TriggerHandler handler, int RANGE) {
+	public TriggerBlock(int x, int y, ID id, int delay, int speed, TriggerHandler.Scheduler scheduler, int RANGE) {
 		super(x, y, id);
 		size = 48;
-		this.handler = handler;
+		this.scheduler = scheduler;
 		this.delay = delay;
 		this.speed = speed;
 		this.iterations = -1;
@@ -93,16 +93,16 @@ public class TriggerBlock extends GameObject {
 	 * @param id Object identifier
 	 * @param delay Activation delay
 	 * @param speed Repeat interval
-	 * @param handler Event handler
+	 * @param scheduler Trigger task scheduling capability
 	 * @param WR1 Left range
 	 * @param WR2 Right range
 	 * @param HR1 Top range
 	 * @param HR2 Bottom range
 	 */
-	public TriggerBlock(int x, int y, ID id, int delay, int speed, TriggerHandler handler, int WR1, int WR2, int HR1, int HR2) {
+	public TriggerBlock(int x, int y, ID id, int delay, int speed, TriggerHandler.Scheduler scheduler, int WR1, int WR2, int HR1, int HR2) {
 		super(x, y, id);
 		size = 48;
-		this.handler = handler;
+		this.scheduler = scheduler;
 		this.delay = delay;
 		this.speed = speed;
 		this.iterations = -1;
@@ -120,13 +120,13 @@ public class TriggerBlock extends GameObject {
 	 * @param delay Activation delay
 	 * @param speed Repeat interval
 	 * @param iterations Maximum activations
-	 * @param handler Event handler
+	 * @param scheduler Trigger task scheduling capability
 	 * @param RANGE Detection range in all directions
 	 */
-	public TriggerBlock(int x, int y, ID id, int delay, int speed, int iterations, TriggerHandler handler, int RANGE) {
+	public TriggerBlock(int x, int y, ID id, int delay, int speed, int iterations, TriggerHandler.Scheduler scheduler, int RANGE) {
 		super(x, y, id);
 		size = 48;
-		this.handler = handler;
+		this.scheduler = scheduler;
 		this.delay = delay;
 		this.speed = speed;
 		this.iterations = iterations;
@@ -144,16 +144,16 @@ public class TriggerBlock extends GameObject {
 	 * @param delay Activation delay
 	 * @param speed Repeat interval
 	 * @param iterations Maximum activations
-	 * @param handler Event handler
+	 * @param scheduler Trigger task scheduling capability
 	 * @param WR1 Left range
 	 * @param WR2 Right range
 	 * @param HR1 Top range
 	 * @param HR2 Bottom range
 	 */
-	public TriggerBlock(int x, int y, ID id, int delay, int speed, int iterations, TriggerHandler handler, int WR1, int WR2, int HR1, int HR2) {
+	public TriggerBlock(int x, int y, ID id, int delay, int speed, int iterations, TriggerHandler.Scheduler scheduler, int WR1, int WR2, int HR1, int HR2) {
 		super(x, y, id);
 		size = 48;
-		this.handler = handler;
+		this.scheduler = scheduler;
 		this.delay = delay;
 		this.speed = speed;
 		this.iterations = iterations;
@@ -168,9 +168,9 @@ public class TriggerBlock extends GameObject {
 	 */
 	@Override
 	public void tick() {
-		if(Game.player == null) return;
-		if(getArea(WR1, HR1, WR2, HR2).intersects(Game.player.getBounds())) {
-			handler.scheduleTriggerTask(this);
+		if(session.player == null) return;
+		if(getArea(WR1, HR1, WR2, HR2).intersects(session.player.getBounds())) {
+			scheduler.scheduleTriggerTask(this);
 		}
 	}
 
@@ -0,0 +1,80 @@
+package com.unipi.alexandris.game.echotrials.base.sensors;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The InputRecorder class records the buttons applied on every tick of a session.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Appending the buttons of each tick, merging ticks with the same buttons into one run</li>
+ *   <li>Keeping the properties a replay needs to start from the same state, such as the level and seed</li>
+ *   <li>Turning the recording into an {@link InputScript} or saving it in the script format</li>
+ * </ul>
+ * A recording grows by one run per change of buttons, not per tick, so hours of play stay small.
+ * The game thread records while other threads may save, so every method is synchronized.
+ */
+public class InputRecorder {
+
+	/** Button bits of every run. */
+	private int[] buttons = new int[64];
+
+	/** Number of ticks of every run. */
+	private long[] counts = new long[64];
+
+	/** Number of runs recorded. */
+	private int runs = 0;
+
+	/** Properties of the recording, in the order they were set. */
+	private final Map<String, String> properties = new LinkedHashMap<>();
+
+	/**
+	 * Sets a property of the recording.
+	 *
+	 * @param key The name of the property
+	 * @param value The value of the property
+	 */
+	public synchronized void setProperty(String key, String value) {
+		properties.put(key, value);
+	}
+
+	/**
+	 * Records the buttons applied on the next tick.
+	 *
+	 * @param bits The button bits
+	 */
+	public synchronized void record(int bits) {
+		if(runs > 0 && buttons[runs - 1] == bits) {
+			counts[runs - 1]++;
+			return;
+		}
+		if(runs == buttons.length) {
+			buttons = Arrays.copyOf(buttons, runs * 2);
+			counts = Arrays.copyOf(counts, runs * 2);
+		}
+		buttons[runs] = bits;
+		counts[runs++] = 1;
+	}
+
+	/**
+	 * Gets the recording so far as a script.
+	 *
+	 * @return A script that replays every recorded tick
+	 */
+	public synchronized InputScript toScript() {
+		return new InputScript(Arrays.copyOf(buttons, runs), Arrays.copyOf(counts, runs), properties);
+	}
+
+	/**
+	 * Saves the recording so far to a file.
+	 *
+	 * @param path The recording file
+	 * @throws IOException If the file cannot be written
+	 */
+	public void save(Path path) throws IOException {
+		toScript().save(path);
+	}
+}
@@ -0,0 +1,209 @@
+package com.unipi.alexandris.game.echotrials.base.sensors;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The InputScript class holds the buttons held on every tick of a scripted run.
+ * It provides functionality for:
+ * <ul>
+ *   <li>Parsing run-length encoded scripts, one "count buttons" line per run of identical ticks</li>
+ *   <li>Looking up the buttons of any tick in logarithmic time</li>
+ *   <li>Sharing one script between runs, since a parsed script never changes</li>
+ *   <li>Carrying "key=value" properties, such as the level and seed a recording starts from</li>
+ *   <li>Writing scripts back in the same format, which is how {@link InputRecorder} saves recordings</li>
+ * </ul>
+ * Buttons are written as the letters L, R, U and D, B for back and H for the high scores, or "-" for none;
+ * text after a '#' is a comment. For example, "100 R" holds right for one second
+ * and "30 RU" then jumps to the right for 30 ticks.
+ */
+public class InputScript {
+
+	/** Button bits of every run. */
+	private final int[] buttons;
+
+	/** First tick of every run, in ascending order. */
+	private final long[] starts;
+
+	/** Number of ticks the script covers. */
+	private final long length;
+
+	/** Properties of the script, in the order they were given. */
+	private final Map<String, String> properties;
+
+	/** Button letters in the order they are written, matching {@link #BITS}. */
+	private static final String LETTERS = "LRUDBH";
+
+	/** Button bits of every letter of {@link #LETTERS}. */
+	private static final int[] BITS = {KeyInput.LEFT, KeyInput.RIGHT, KeyInput.UP, KeyInput.DOWN, KeyInput.BACK, KeyInput.SCORES};
+
+	/**
+	 * Constructs a new InputScript from its runs.
+	 *
+	 * @param buttons Button bits of every run
+	 * @param counts Number of ticks of every run
+	 * @param properties Properties of the script
+	 */
+	InputScript(int[] buttons, long[] counts, Map<String, String> properties) {
+		this.properties = Collections.unmodifiableMap(new LinkedHashMap<>(properties));
+		this.buttons = buttons;
+		this.starts = new long[counts.length];
+		long tick = 0;
+		for(int i = 0; i < counts.length; i++) {
+			starts[i] = tick;
+			tick += counts[i];
+		}
+		this.length = tick;
+	}
+
+	/**
+	 * Loads a script from a file.
+	 *
+	 * @param path The script file
+	 * @return The parsed script
+	 * @throws IOException If the file cannot be read
+	 * @throws IllegalArgumentException If a line is malformed
+	 */
+	public static InputScript load(Path path) throws IOException {
+		return parse(Files.readAllLines(path));
+	}
+
+	/**
+	 * Parses a script from its lines.
+	 *
+	 * @param lines The lines of the script
+	 * @return The parsed script
+	 * @throws IllegalArgumentException If a line is malformed
+	 */
+	public static InputScript parse(List<String> lines) {
+		int[] buttons = new int[lines.size()];
+		long[] counts = new long[lines.size()];
+		Map<String, String> properties = new LinkedHashMap<>();
+		int runs = 0;
+		for(int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i);
+			int comment = line.indexOf('#');
+			if(comment >= 0) line = line.substring(0, comment);
+			line = line.strip();
+			if(line.isEmpty()) continue;
+
+			int equals = line.indexOf('=');
+			if(equals >= 0) {
+				String key = line.substring(0, equals).strip();
+				if(key.isEmpty()) throw new IllegalArgumentException("Line " + (i + 1) + ": the property has no name");
+				properties.put(key, line.substring(equals + 1).strip());
+				continue;
+			}
+
+			String[] parts = line.split("\\s+");
+			if(parts.length > 2) throw new IllegalArgumentException("Line " + (i + 1) + ": expected \"count buttons\" but found \"" + line + "\"");
+			long count;
+			try {
+				count = Long.parseLong(parts[0]);
+			}
+			catch(NumberFormatException e) {
+				throw new IllegalArgumentException("Line " + (i + 1) + ": \"" + parts[0] + "\" is not a tick count");
+			}
+			if(count < 0) throw new IllegalArgumentException("Line " + (i + 1) + ": the tick count is negative");
+			if(count == 0) continue;
+			buttons[runs] = parseButtons(parts.length > 1 ? parts[1] : "-", i + 1);
+			counts[runs++] = count;
+		}
+		return new InputScript(Arrays.copyOf(buttons, runs), Arrays.copyOf(counts, runs), properties);
+	}
+
+	/**
+	 * Parses the buttons of a line.
+	 *
+	 * @param text The button letters, or "-" for none
+	 * @param line The line number, for error messages
+	 * @return The button bits
+	 */
+	private static int parseButtons(String text, int line) {
+		if(text.equals("-")) return 0;
+		int bits = 0;
+		for(char c : text.toCharArray()) {
+			int letter = LETTERS.indexOf(Character.toUpperCase(c));
+			if(letter < 0) throw new IllegalArgumentException("Line " + line + ": unknown button '" + c + "'");
+			bits |= BITS[letter];
+		}
+		return bits;
+	}
+
+	/**
+	 * Writes the button bits of a run as letters.
+	 *
+	 * @param bits The button bits
+	 * @return The button letters, or "-" for none
+	 */
+	private static String formatButtons(int bits) {
+		StringBuilder text = new StringBuilder();
+		for(int i = 0; i < BITS.length; i++) if((bits & BITS[i]) != 0) text.append(LETTERS.charAt(i));
+		return text.isEmpty() ? "-" : text.toString();
+	}
+
+	/**
+	 * Writes the script as lines that {@link #parse(List)} reads back into the same script:
+	 * the properties first, then one line per run.
+	 *
+	 * @return The lines of the script
+	 */
+	public List<String> format() {
+		List<String> lines = new ArrayList<>(properties.size() + buttons.length);
+		for(Map.Entry<String, String> property : properties.entrySet()) lines.add(property.getKey() + "=" + property.getValue());
+		for(int i = 0; i < buttons.length; i++) {
+			long end = i + 1 < starts.length ? starts[i + 1] : length;
+			lines.add((end - starts[i]) + " " + formatButtons(buttons[i]));
+		}
+		return lines;
+	}
+
+	/**
+	 * Saves the script to a file.
+	 *
+	 * @param path The script file
+	 * @throws IOException If the file cannot be written
+	 */
+	public void save(Path path) throws IOException {
+		Files.write(path, format());
+	}
+
+	/**
+	 * Gets the buttons held on a tick.
+	 *
+	 * @param tick The tick, counted from 0
+	 * @return The button bits, or 0 past the end of the script
+	 */
+	public int buttonsAt(long tick) {
+		if(tick < 0 || tick >= length) return 0;
+		int run = Arrays.binarySearch(starts, tick);
+		return buttons[run >= 0 ? run : -run - 2];
+	}
+
+	/**
+	 * Gets the number of ticks the script covers.
+	 *
+	 * @return The length of the script in ticks
+	 */
+	public long length() {
+		return length;
+	}
+
+	/**
+	 * Gets a property of the script.
+	 *
+	 * @param key The name of the property
+	 * @param fallback The value to return if the script does not have the property
+	 * @return The value of the property, or the fallback
+	 */
+	public String getProperty(String key, String fallback) {
+		return properties.getOrDefault(key, fallback);
+	}
+}
@@ -5,6 +5,7 @@ import java.awt.event.KeyEvent;
 
 import com.unipi.alexandris.game.echotrials.base.Game;
 import com.unipi.alexandris.game.echotrials.base.core.ID;
+import com.unipi.alexandris.game.echotrials.base.core.InputQueue;
 import com.unipi.alexandris.game.echotrials.base.core.LevelID;
 import com.unipi.alexandris.game.echotrials.base.handlers.Handler;
 import com.unipi.alexandris.game.echotrials.base.roomobjects.GameObject;
@@ -18,6 +19,10 @@ import com.unipi.alexandris.game.echotrials.base.roomobjects.GameObject;
  *   <li>Object-specific interactions</li>
  * </ul>
  * This class extends KeyAdapter to receive and process keyboard events.
+ * Key events arrive on the event dispatch thread, which only puts the buttons pressed and released
+ * into an {@link InputQueue}. The game thread takes them out once per tick and applies them through its session,
+ * so the game objects are only ever touched by the game thread and every tick sees one well-defined set of
+ * buttons that can be recorded and replayed.
  */
 public class KeyInput extends KeyAdapter {
 	
@@ -26,9 +31,48 @@ public class KeyInput extends KeyAdapter {
 	
 	/** Reference to the main game instance */
 	private final Game game;
-	
-	/** Temporary object reference for input processing */
-	private GameObject tempObject;
+
+	/** Button bit for moving left (A or left arrow) */
+	public static final int LEFT = 1;
+
+	/** Button bit for moving right (D or right arrow) */
+	public static final int RIGHT = 2;
+
+	/** Button bit for jumping and interacting (W, up arrow or space) */
+	public static final int UP = 4;
+
+	/** Button bit for moving down (S or down arrow) */
+	public static final int DOWN = 8;
+
+	/** Button bit for going back (ESC or the back button): restarts a level, or exits from the level selector */
+	public static final int BACK = 16;
+
+	/** Button bit for opening the high scores from the level selector (the high score button) */
+	public static final int SCORES = 32;
+
+	/** Flag of a queued event whose buttons were pressed; without it they were released */
+	private static final int PRESSED = 1 << 31;
+
+	/** Number of events the queue holds; only changes of buttons are queued, so a stall must be long to fill it */
+	private static final int QUEUE_CAPACITY = 256;
+
+	/** Button events from the event dispatch thread to the game thread */
+	private final InputQueue queue = new InputQueue(QUEUE_CAPACITY);
+
+	/** Buttons held down, as seen by the event dispatch thread */
+	private int down = 0;
+
+	/** Buttons held down, as last queued by the event dispatch thread */
+	private int sent = 0;
+
+	/** Buttons held down, as seen by the game thread */
+	private int held = 0;
+
+	/** Buttons pressed since the last poll, as seen by the game thread, so a tap shorter than a tick is not lost */
+	private int tapped = 0;
+
+	/** IDs of the objects that react to keyboard input */
+	private static final ID[] INPUT_IDS = {ID.Player, ID.Goal, ID.Spike};
 	
 	/**
 	 * Constructs a new KeyInput handler.
@@ -45,11 +89,10 @@ public class KeyInput extends KeyAdapter {
 	 * Handles key press events.
 	 * Processes:
 	 * <ul>
-	 *   <li>Movement controls for Player objects</li>
-	 *   <li>Interaction controls for Goal and Spike objects</li>
+	 *   <li>Movement and interaction buttons, held until the key is released</li>
 	 *   <li>Game control shortcuts:
 	 *     <ul>
-	 *       <li>ESC - Exit or restart level</li>
+	 *       <li>ESC - Exit or restart level, through the {@link #BACK} button</li>
 	 *       <li>F11 - Toggle fullscreen</li>
 	 *       <li>H - View high scores</li>
 	 *     </ul>
@@ -60,75 +103,147 @@ public class KeyInput extends KeyAdapter {
 	 */
 	public void keyPressed(KeyEvent e) {
 		int key = e.getKeyCode();	
-		for(int i = 0; i < handler.getObject().size(); i++) {
-			try {
-				tempObject = handler.getObject().get(i);
-				if(tempObject.getId() == ID.Player) {
-					if(key == KeyEvent.VK_A ^ key == KeyEvent.VK_LEFT)
-						if(!tempObject.isCancelLEFT()) tempObject.setPressLEFT(true);
-					if(key == KeyEvent.VK_D ^ key == KeyEvent.VK_RIGHT)
-						if(!tempObject.isCancelRIGHT()) tempObject.setPressRIGHT(true);
-					if(key == KeyEvent.VK_W ^ key == KeyEvent.VK_UP ^ key == KeyEvent.VK_SPACE)
-						if(!tempObject.isCancelUP()) tempObject.setPressUP(true);
-					if(key == KeyEvent.VK_S ^ key == KeyEvent.VK_DOWN)
-						if(!tempObject.isCancelDOWN()) tempObject.setPressDOWN(true);
-				}
-				if(tempObject.getId() == ID.Goal) {
-					if(key == KeyEvent.VK_W ^ key == KeyEvent.VK_UP ^ key == KeyEvent.VK_SPACE)
-						if(!tempObject.isCancelUP()) tempObject.setPressUP(true);
-				}
-				if(tempObject.getId() == ID.Spike) {
-					if(key == KeyEvent.VK_W ^ key == KeyEvent.VK_UP ^ key == KeyEvent.VK_SPACE)
-						if(!tempObject.isCancelUP()) tempObject.setPressUP(true);
-				}
-			}
-			catch(NullPointerException p) {
-				//To do;
-			}
-		}
-		if(key == KeyEvent.VK_ESCAPE) {
-			if(Game.currentLevel == LevelID.LEVEL_SELECTOR) Game.exit();
-			Game.restart();
-		}
+		down |= buttons(key);
+		send();
 		if(key == KeyEvent.VK_F11) game.window.fullscreen();
 		if(key == KeyEvent.VK_H)
-			if(Game.currentLevel == LevelID.LEVEL_SELECTOR) Game.getHighScores();
+			if(handler.getSession().currentLevel == LevelID.LEVEL_SELECTOR) handler.getSession().getHighScores();
 	}
 	
 	/**
 	 * Handles key release events.
-	 * Stops movement or interactions when control keys are released.
-	 * Affects:
-	 * <ul>
-	 *   <li>Player movement controls</li>
-	 *   <li>Spike object interactions</li>
-	 * </ul>
+	 * The buttons of the key stop being held from the next tick on.
 	 *
 	 * @param e The key event to process
 	 */
 	public void keyReleased(KeyEvent e) {
-		int key = e.getKeyCode();	
-		for(int i = 0; i < handler.getObject().size(); i++) {
-			try {
-				tempObject = handler.getObject().get(i);
-				if(tempObject.getId() == ID.Player) {
-					if(key == KeyEvent.VK_A ^ key == KeyEvent.VK_LEFT)
-						if(!tempObject.isCancelLEFT()) tempObject.setPressLEFT(false);
-					if(key == KeyEvent.VK_D ^ key == KeyEvent.VK_RIGHT)
-						if(!tempObject.isCancelRIGHT()) tempObject.setPressRIGHT(false);
-					if(key == KeyEvent.VK_W ^ key == KeyEvent.VK_UP ^ key == KeyEvent.VK_SPACE)
-						if(!tempObject.isCancelUP()) tempObject.setPressUP(false);
-					if(key == KeyEvent.VK_S ^ key == KeyEvent.VK_DOWN)
-						if(!tempObject.isCancelDOWN()) tempObject.setPressDOWN(false);
-				}
-				if(tempObject.getId() == ID.Spike) {
-					if(key == KeyEvent.VK_W ^ key == KeyEvent.VK_UP ^ key == KeyEvent.VK_SPACE)
-						if(!tempObject.isCancelUP()) tempObject.setPressUP(false);
-				}
+		down &= ~buttons(e.getKeyCode());
+		send();
+	}
+
+	/**
+	 * Queues the buttons pressed and released since the last key event, if any.
+	 * Repeats of a held key change nothing and queue nothing. If the queue is full, the change
+	 * stays pending and is queued with the next key event. Runs on the event dispatch thread.
+	 */
+	private void send() {
+		long time = System.nanoTime();
+		int released = sent & ~down;
+		int pressed = down & ~sent;
+		if(released != 0) {
+			if(queue.offer(time, released)) sent &= ~released;
+			else System.out.println("[WARNING]: The input queue is full; a key release was delayed.");
+		}
+		if(pressed != 0) {
+			if(queue.offer(time, pressed | PRESSED)) sent |= pressed;
+			else System.out.println("[WARNING]: The input queue is full; a key press was delayed.");
+		}
+	}
+
+	/**
+	 * Presses buttons for the next tick only, as a click on a GUI button does.
+	 * Must be called on the game thread.
+	 *
+	 * @param buttons The button bits to press
+	 */
+	public void tap(int buttons) {
+		tapped |= buttons;
+	}
+
+	/**
+	 * Takes the button events due by the time of a tick and gets the buttons to apply on it:
+	 * those held down, and those pressed since the last poll even if already released.
+	 * Events after the time of the tick are left for the next one, so ticks run back-to-back
+	 * to catch up see the buttons as they were at their own time. Called by the game thread once per tick.
+	 *
+	 * @param time The time the tick is due, in {@link System#nanoTime()} nanoseconds
+	 * @return The button bits
+	 */
+	public int poll(long time) {
+		while(!queue.isEmpty() && queue.peekTime() - time <= 0) {
+			int event = queue.poll();
+			int buttons = event & ~PRESSED;
+			if((event & PRESSED) != 0) {
+				held |= buttons;
+				tapped |= buttons;
+			}
+			else held &= ~buttons;
 		}
-		catch(NullPointerException p) {
-			//To do;
+		int buttons = held | tapped;
+		tapped = 0;
+		return buttons;
+	}
+
+	/**
+	 * Maps a key to the buttons it controls.
+	 *
+	 * @param key The key code
+	 * @return The button bits of the key, or 0 if it controls none
+	 */
+	public static int buttons(int key) {
+		if(key == KeyEvent.VK_A || key == KeyEvent.VK_LEFT) return LEFT;
+		if(key == KeyEvent.VK_D || key == KeyEvent.VK_RIGHT) return RIGHT;
+		if(key == KeyEvent.VK_W || key == KeyEvent.VK_UP || key == KeyEvent.VK_SPACE) return UP;
+		if(key == KeyEvent.VK_S || key == KeyEvent.VK_DOWN) return DOWN;
+		if(key == KeyEvent.VK_ESCAPE) return BACK;
+		return 0;
+	}
+
+	/**
+	 * Presses buttons on the objects that react to input, unless the object cancels them.
+	 * The Player takes every button, Goal and Spike objects only {@link #UP}.
+	 * Must be called on the game thread, which is the only thread that changes the game objects.
+	 *
+	 * @param handler The game object handler
+	 * @param buttons The button bits to press
+	 */
+	public static void press(Handler handler, int buttons) {
+		if(buttons == 0) return;
+		for(ID id : INPUT_IDS) for(int i = 0; i < handler.count(id); i++) {
+			GameObject tempObject = handler.get(id, i);
+			if(tempObject.getId() == ID.Player) {
+				if((buttons & LEFT) != 0)
+					if(!tempObject.isCancelLEFT()) tempObject.setPressLEFT(true);
+				if((buttons & RIGHT) != 0)
+					if(!tempObject.isCancelRIGHT()) tempObject.setPressRIGHT(true);
+				if((buttons & UP) != 0)
+					if(!tempObject.isCancelUP()) tempObject.setPressUP(true);
+				if((buttons & DOWN) != 0)
+					if(!tempObject.isCancelDOWN()) tempObject.setPressDOWN(true);
+			}
+			if(tempObject.getId() == ID.Goal || tempObject.getId() == ID.Spike) {
+				if((buttons & UP) != 0)
+					if(!tempObject.isCancelUP()) tempObject.setPressUP(true);
+			}
 		}
+	}
+
+	/**
+	 * Releases buttons on the objects that react to input, unless the object cancels them.
+	 * The Player releases every button, Spike objects only {@link #UP}; the Goal keeps its press.
+	 * Must be called on the game thread, which is the only thread that changes the game objects.
+	 *
+	 * @param handler The game object handler
+	 * @param buttons The button bits to release
+	 */
+	public static void release(Handler handler, int buttons) {
+		if(buttons == 0) return;
+		for(ID id : INPUT_IDS) for(int i = 0; i < handler.count(id); i++) {
+			GameObject tempObject = handler.get(id, i);
+			if(tempObject.getId() == ID.Player) {
+				if((buttons & LEFT) != 0)
+					if(!tempObject.isCancelLEFT()) tempObject.setPressLEFT(false);
+				if((buttons & RIGHT) != 0)
+					if(!tempObject.isCancelRIGHT()) tempObject.setPressRIGHT(false);
+				if((buttons & UP) != 0)
+					if(!tempObject.isCancelUP()) tempObject.setPressUP(false);
+				if((buttons & DOWN) != 0)
+					if(!tempObject.isCancelDOWN()) tempObject.setPressDOWN(false);
+			}
+			if(tempObject.getId() == ID.Spike) {
+				if((buttons & UP) != 0)
+					if(!tempObject.isCancelUP()) tempObject.setPressUP(false);
+			}
 		}
 	}
 }
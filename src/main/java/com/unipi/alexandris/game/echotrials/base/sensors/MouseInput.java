@@ -43,8 +43,9 @@ public class MouseInput extends MouseAdapter {
 	 * <ul>
 	 *   <li>Detects clicks on hovering buttons</li>
 	 *   <li>Updates button click states</li>
-	 *   <li>Schedules click state reset</li>
 	 * </ul>
+	 * Runs on the event dispatch thread, so it only flags the click; the button acts on it,
+	 * and clears it, on the game thread's next tick.
 	 *
 	 * @param e The mouse event to process
 	 */
@@ -54,10 +55,7 @@ public class MouseInput extends MouseAdapter {
 			try {
 				GUIButton tempElement = game.getGUIElements().get(i);
 				if (tempElement.getId() == ID.Button) {
-					if(tempElement.isMouse_hover()) {
-						tempElement.setMouse_clicked(true);
-						handler.runLater(() -> tempElement.setMouse_clicked(false), 1);
-					}
+					if(tempElement.isMouse_hover()) tempElement.setMouse_clicked(true);
 				}
 			}
 			catch(NullPointerException p) {